@@ -6,7 +6,11 @@ plugins {
 
 group = "com.example"
 version = "0.0.1-SNAPSHOT"
-java.sourceCompatibility = JavaVersion.VERSION_17
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
 
 repositories {
     mavenCentral()
@@ -24,8 +28,23 @@ dependencies {
     testImplementation("org.mockito:mockito-core:5.11.0")
 }
 
+// Vector API (núcleos SIMD opcionales, ver Kernels): se activan con -Ddc.simd=vector o DC_SIMD=vector.
+// Foreign Function & Memory API (matrices fuera del heap, ver OffHeapMatrix): en vista previa en JDK 21.
+// Hilos virtuales para peticiones y planificadores: DC_VIRTUAL_THREADS=true.
+val jvmFlags = listOf("--enable-preview", "--add-modules=jdk.incubator.vector")
+
+tasks.withType<JavaCompile> {
+    options.release.set(21)
+    options.compilerArgs.addAll(jvmFlags)
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
+    jvmArgs(jvmFlags)
+}
+
+tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+    jvmArgs(jvmFlags)
 }
 
 tasks.jar {
@@ -0,0 +1,25 @@
+#!/bin/bash
+# Lanza a la vez peticiones de distinto tamaño (simple/medio/complejo) con cada planificador y mide el tiempo total
+# hasta que terminan todas; con trabajos mixtos un planificador que no espera rondas completas termina antes.
+set -euo pipefail
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+cd "${SCRIPT_DIR}/.."
+
+BASE_URL="${BASE_URL:-http://127.0.0.1:8080}"
+SCHEDULES=(rr ws mlfq)
+ROUNDS="${ROUNDS:-4}"
+
+for sched in "${SCHEDULES[@]}"; do
+  start=$(date +%s%N)
+  for ((i = 0; i < ROUNDS; i++)); do
+    for scenario in complejo medio simple simple; do
+      curl -s -o /dev/null -X POST "${BASE_URL}/solve?sched=${sched}&scenario=${scenario}" &
+    done
+  done
+  wait
+  end=$(date +%s%N)
+  echo "${sched}: $(( (end - start) / 1000000 )) ms para $(( ROUNDS * 4 )) peticiones"
+  curl -s "${BASE_URL}/scheduler/stats"
+  echo
+  sleep 1
+done
@@ -4,7 +4,7 @@ SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
 cd "${SCRIPT_DIR}/.."
 
 BASE_URL="http://127.0.0.1:8080"
-SCHEDULES=(fcfs rr sjf)
+SCHEDULES=(fcfs rr sjf ws mlfq edf)
 SCENARIOS=(simple medio complejo)
 
 for sched in "${SCHEDULES[@]}"; do
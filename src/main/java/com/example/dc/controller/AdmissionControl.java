@@ -0,0 +1,190 @@
+package com.example.dc.controller;
+
+import com.example.dc.domain.CircuitSpec;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Control de admisión delante de los planificadores: limita los jobs en curso y la memoria de matrices que ocupan,
+ * entre todas las peticiones. Una petición que no entra espera su turno en orden de llegada; si la fila de espera
+ * está llena o la espera se agota, se rechaza con {@link OverloadedException} en vez de acumular matrices hasta
+ * agotar el heap. Una petición que por sí sola supera los límites solo entra cuando no hay nada más en curso.
+ */
+public final class AdmissionControl {
+
+    /** Para {@link #await}: esperar el turno sin límite de tiempo. */
+    public static final long NO_TIMEOUT = Long.MAX_VALUE;
+
+    private static final long MAX_RETRY_AFTER_SECONDS = 60L;
+    /** Peso de la última petición en el promedio de tiempo retenido, para estimar {@code Retry-After}. */
+    private static final double HOLD_SMOOTHING = 0.2;
+
+    private final int maxJobs;
+    private final long maxBytes;
+    private final int maxQueue;
+    private final Deque<Ticket> waiting = new ArrayDeque<>();
+    private int inFlightRequests;
+    private int inFlightJobs;
+    private long inFlightBytes;
+    private long admitted;
+    private long rejected;
+    private double averageHoldMs;
+
+    /**
+     * @param queueDepth peticiones esperando turno.
+     * @param rejected   peticiones rechazadas desde que arrancó la aplicación.
+     */
+    public record Stats(int maxJobs, long maxBytes, int maxQueue, int inFlightRequests, int inFlightJobs,
+                        long inFlightBytes, int queueDepth, long admitted, long rejected) {}
+
+    /** Reserva de una petición; se obtiene con {@link #enqueue} y se devuelve con {@link #release}. */
+    public static final class Ticket {
+        private final int jobs;
+        private final long bytes;
+        private boolean admitted;
+        private boolean withdrawn;
+        private long admittedAt;
+
+        private Ticket(int jobs, long bytes) {
+            this.jobs = jobs;
+            this.bytes = bytes;
+        }
+    }
+
+    public AdmissionControl(int maxJobs, long maxBytes, int maxQueue) {
+        this.maxJobs = Math.max(1, maxJobs);
+        this.maxBytes = Math.max(1L, maxBytes);
+        this.maxQueue = Math.max(0, maxQueue);
+    }
+
+    /**
+     * Memoria estimada de resolver {@code spec} con {@code jobs} métodos: A más una copia de trabajo por método
+     * (factorizaciones, Gauss-Jordan), 8·n² bytes cada una si es densa o según los no nulos si es dispersa.
+     */
+    public static long estimateBytes(CircuitSpec spec, int jobs) {
+        return estimateBytes(spec.size(), spec.isSparse() ? spec.sparse().nonZeros() : -1L, jobs);
+    }
+
+    /** Como {@link #estimateBytes(CircuitSpec, int)} antes de tener A; {@code nonZeros} negativo si es densa. */
+    public static long estimateBytes(int size, long nonZeros, int jobs) {
+        long n = size;
+        long matrix = nonZeros >= 0
+                ? nonZeros * (Double.BYTES + Integer.BYTES) + (n + 1) * Integer.BYTES
+                : n * n * Double.BYTES;
+        return matrix * (1L + Math.max(0, jobs));
+    }
+
+    /**
+     * Pone la petición en la fila y la admite si hay lugar.
+     * @throws OverloadedException si no hay lugar y la fila de espera está llena.
+     */
+    public synchronized Ticket enqueue(int jobs, long bytes) {
+        Ticket ticket = new Ticket(Math.max(0, jobs), Math.max(0L, bytes));
+        waiting.addLast(ticket);
+        admitWaiting();
+        if (!ticket.admitted && waiting.size() > maxQueue) {
+            waiting.remove(ticket);
+            throw reject("Servidor saturado: hay " + maxQueue + " peticiones esperando turno");
+        }
+        return ticket;
+    }
+
+    /**
+     * Espera a que {@code ticket} sea admitida; si se agota {@code timeoutMs} la saca de la fila.
+     * @throws OverloadedException   si no entró a tiempo.
+     * @throws CancellationException si se retiró con {@link #withdraw} antes de entrar.
+     * @throws IllegalStateException si se interrumpe la espera; la petición deja la fila o, si ya había entrado,
+     *                               devuelve su lugar.
+     */
+    public synchronized void await(Ticket ticket, long timeoutMs) {
+        boolean unbounded = timeoutMs == NO_TIMEOUT;
+        long deadline = unbounded ? 0L : System.nanoTime() + Math.max(0L, timeoutMs) * 1_000_000L;
+        while (!ticket.admitted) {
+            if (ticket.withdrawn) {
+                throw new CancellationException("Petición retirada de la fila de admisión");
+            }
+            long remainingMs = unbounded ? 0L : (deadline - System.nanoTime()) / 1_000_000L;
+            if (!unbounded && remainingMs <= 0) {
+                waiting.remove(ticket);
+                admitWaiting();
+                throw reject("Servidor saturado: la petición esperó " + timeoutMs + " ms sin lugar");
+            }
+            try {
+                wait(remainingMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // la interrupción puede llegar con la petición ya admitida: quien llama no va a liberarla
+                release(ticket);
+                throw new IllegalStateException("Admisión interrumpida", e);
+            }
+        }
+    }
+
+    /**
+     * Saca de la fila una petición que todavía espera turno y despierta a quien la espera en {@link #await}; si ya
+     * fue admitida no hace nada y su lugar se devuelve con {@link #release} al terminar.
+     */
+    public synchronized void withdraw(Ticket ticket) {
+        if (!ticket.admitted && waiting.remove(ticket)) {
+            ticket.withdrawn = true;
+            admitWaiting();
+            notifyAll();
+        }
+    }
+
+    /** Libera el lugar de una petición admitida o la saca de la fila si todavía esperaba. */
+    public synchronized void release(Ticket ticket) {
+        if (!ticket.admitted) {
+            waiting.remove(ticket);
+        } else {
+            ticket.admitted = false;
+            inFlightRequests--;
+            inFlightJobs -= ticket.jobs;
+            inFlightBytes -= ticket.bytes;
+            double heldMs = (System.nanoTime() - ticket.admittedAt) / 1_000_000.0;
+            averageHoldMs = averageHoldMs == 0.0 ? heldMs : averageHoldMs + HOLD_SMOOTHING * (heldMs - averageHoldMs);
+        }
+        admitWaiting();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(maxJobs, maxBytes, maxQueue, inFlightRequests, inFlightJobs, inFlightBytes, waiting.size(),
+                admitted, rejected);
+    }
+
+    /** Admite en orden de llegada mientras la primera de la fila entre; una grande no es adelantada por las chicas. */
+    private void admitWaiting() {
+        boolean any = false;
+        Ticket head;
+        while ((head = waiting.peekFirst()) != null && fits(head)) {
+            waiting.pollFirst();
+            head.admitted = true;
+            head.admittedAt = System.nanoTime();
+            inFlightRequests++;
+            inFlightJobs += head.jobs;
+            inFlightBytes += head.bytes;
+            admitted++;
+            any = true;
+        }
+        if (any) {
+            notifyAll();
+        }
+    }
+
+    private boolean fits(Ticket ticket) {
+        if (inFlightRequests == 0) {
+            return true;
+        }
+        return inFlightJobs + ticket.jobs <= maxJobs && inFlightBytes + ticket.bytes <= maxBytes;
+    }
+
+    /** Retry-After: lo que retienen su lugar las peticiones de delante, repartido entre las que corren. */
+    private OverloadedException reject(String message) {
+        rejected++;
+        double waitMs = averageHoldMs * (waiting.size() + 1) / Math.max(1, inFlightRequests);
+        long seconds = Math.max(1L, Math.min(MAX_RETRY_AFTER_SECONDS, (long) Math.ceil(waitMs / 1_000.0)));
+        return new OverloadedException(message, seconds);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.dc.controller;
+
+import com.example.dc.schedulers.Job;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Resolución enviada con {@link Controller#submitScenario} o {@link Controller#submitCustom}, que corre en segundo
+ * plano. Los jobs aparecen cuando el planificador los recibe y se pueden consultar mientras avanzan; cancelar los
+ * detiene en el próximo límite entre pasos y libera su lugar en el planificador; si todavía esperaba turno en
+ * admisión, la saca de la fila.
+ */
+public final class AsyncSolve {
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED, CANCELLED;
+
+        public String code() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String schedulerCode;
+    private final String scenarioName;
+    private final Instant created = Instant.now();
+    /** Retira la petición de la fila de admisión; no hace nada si ya fue admitida. */
+    private final Runnable withdraw;
+    private volatile Status status = Status.QUEUED;
+    private volatile List<Job> jobs = List.of();
+    private volatile List<Controller.ComputedResult> results = List.of();
+    private volatile String error;
+    private volatile Instant finished;
+    private boolean cancelRequested;
+
+    AsyncSolve(String schedulerCode, String scenarioName, Runnable withdraw) {
+        this.schedulerCode = schedulerCode;
+        this.scenarioName = scenarioName;
+        this.withdraw = withdraw;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String schedulerCode() {
+        return schedulerCode;
+    }
+
+    public String scenarioName() {
+        return scenarioName;
+    }
+
+    public Instant created() {
+        return created;
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    public List<Job> jobs() {
+        return jobs;
+    }
+
+    /** Vacío hasta que terminan todos los jobs. */
+    public List<Controller.ComputedResult> results() {
+        return results;
+    }
+
+    /** Motivo del fallo; null salvo con {@link Status#FAILED}. */
+    public String error() {
+        return error;
+    }
+
+    /** null mientras la resolución sigue en curso. */
+    public Instant finished() {
+        return finished;
+    }
+
+    /**
+     * Cancela los jobs que no terminaron; no tiene efecto si la resolución ya había terminado.
+     * @return true si quedó cancelada por esta llamada.
+     */
+    public synchronized boolean cancel() {
+        if (finished != null || cancelRequested) {
+            return false;
+        }
+        cancelRequested = true;
+        status = Status.CANCELLED;
+        withdraw.run();
+        jobs.forEach(Job::cancel);
+        return true;
+    }
+
+    synchronized void start(List<Job> submitted) {
+        jobs = List.copyOf(submitted);
+        if (cancelRequested) {
+            jobs.forEach(Job::cancel);
+        } else {
+            status = Status.RUNNING;
+        }
+    }
+
+    /** Todos los jobs terminaron, aunque la cancelación haya llegado tarde. */
+    synchronized void complete(List<Controller.ComputedResult> computed) {
+        results = List.copyOf(computed);
+        status = Status.DONE;
+        finished = Instant.now();
+    }
+
+    synchronized void fail(Throwable e) {
+        if (!cancelRequested) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            status = Status.FAILED;
+        }
+        finished = Instant.now();
+    }
+}
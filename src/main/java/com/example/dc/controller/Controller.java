@@ -1,37 +1,98 @@
 package com.example.dc.controller;
 
+import com.example.dc.domain.BinaryCircuitFormat;
 import com.example.dc.domain.CircuitManager;
 import com.example.dc.domain.CircuitSpec;
+import com.example.dc.domain.CsrMatrix;
+import com.example.dc.domain.DenseMatrix;
 import com.example.dc.domain.SchedulerType;
 import com.example.dc.domain.ScenarioType;
 import com.example.dc.patterns.factory.SolverFactory;
 import com.example.dc.patterns.observer.EventBus;
 import com.example.dc.patterns.observer.StatusEvent;
 import com.example.dc.patterns.observer.Topics;
+import com.example.dc.patterns.solver.BlockedLuSolver;
+import com.example.dc.patterns.solver.CholeskyFactorization;
+import com.example.dc.patterns.solver.FactorizationCache;
+import com.example.dc.patterns.solver.Kernels;
+import com.example.dc.patterns.solver.LuFactorization;
+import com.example.dc.patterns.solver.OffHeapLuFactorization;
+import com.example.dc.patterns.solver.Residuals;
 import com.example.dc.patterns.solver.Solver;
+import com.example.dc.patterns.solver.SparseLuFactorization;
+import com.example.dc.schedulers.CostModel;
+import com.example.dc.schedulers.EdfScheduler;
 import com.example.dc.schedulers.FCFSScheduler;
+import com.example.dc.schedulers.GlobalScheduler;
 import com.example.dc.schedulers.IScheduler;
 import com.example.dc.schedulers.Job;
+import com.example.dc.schedulers.MlfqScheduler;
 import com.example.dc.schedulers.Result;
 import com.example.dc.schedulers.RoundRobinScheduler;
 import com.example.dc.schedulers.SJFScheduler;
+import com.example.dc.schedulers.SchedulerExecutor;
 import com.example.dc.schedulers.StepRunner;
+import com.example.dc.schedulers.WorkStealingRunQueue;
+import com.example.dc.schedulers.WorkStealingScheduler;
+import com.example.dc.schedulers.runners.BlockedLuStepRunner;
+import com.example.dc.schedulers.runners.CholeskyStepRunner;
+import com.example.dc.schedulers.runners.ConjugateGradientStepRunner;
 import com.example.dc.schedulers.runners.CramerStepRunner;
 import com.example.dc.schedulers.runners.GaussJordanStepRunner;
 import com.example.dc.schedulers.runners.LibraryStepRunner;
+import com.example.dc.schedulers.runners.MixedPrecisionStepRunner;
+import com.example.dc.schedulers.runners.OffHeapLuStepRunner;
+import com.example.dc.schedulers.runners.SparseLuStepRunner;
+import com.example.dc.utils.Config;
 import com.example.dc.utils.MetricsLogger;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Service
 public class Controller {
 
+    private static final long MIN_QUANTUM_MS = 2L;
+    private static final long MAX_QUANTUM_MS = 40L;
+    /** Residual relativo a ‖b‖ con el que un método gana la carrera; el mismo umbral que dispara el aviso de residual alto. */
+    private static final double RACE_TOLERANCE = 1e-6;
+    /** Tiempo que se conserva una resolución asíncrona terminada para consultarla. */
+    private static final Duration ASYNC_RETENTION = Duration.ofMinutes(10);
+
     private final SolverFactory solverFactory;
     private final EventBus eventBus;
     private final MetricsLogger metricsLogger;
+    private final Kernels kernels = Kernels.active();
+    private final FactorizationCache factorizationCache = new FactorizationCache(Config.factorizationCacheBytes());
+    private final CostModel costModel = CostModel.fromLog(Config.JOB_LOG_PATH);
+    private final Map<String, AsyncSolve> asyncSolves = new ConcurrentHashMap<>();
+    private final AdmissionControl admission =
+            new AdmissionControl(Config.admissionMaxJobs(), Config.admissionMaxBytes(), Config.admissionQueueSize());
+    /**
+     * Hilos virtuales que solo esperan a los planificadores; los pasos corren en {@link SchedulerExecutor}, así que
+     * las resoluciones en espera no ocupan hilos de plataforma.
+     */
+    private final ExecutorService asyncExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dc-async-", 1).factory());
+    private final AtomicLong deadlinesMet = new AtomicLong();
+    private final AtomicLong deadlinesMissed = new AtomicLong();
 
     public Controller(SolverFactory solverFactory, EventBus eventBus, MetricsLogger metricsLogger) {
         this.solverFactory = solverFactory;
@@ -40,38 +101,329 @@ public class Controller {
     }
 
     public List<ComputedResult> runScenario(SchedulerType schedulerType, ScenarioType scenarioType) {
+        return runScenario(schedulerType, scenarioType, SolveOptions.DEFAULT);
+    }
+
+    public List<ComputedResult> runScenario(SchedulerType schedulerType, ScenarioType scenarioType,
+                                            SolveOptions options) {
+        long deadlineNanos = deadlineFrom(options.budget());
         CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(scenarioType);
-        return runBatch(schedulerType, spec, solverFactory.defaults());
+        return runBatch(schedulerType, spec, solversFor(spec, options.method()), deadlineNanos, options.race());
     }
 
     public List<ComputedResult> runCustom(SchedulerType schedulerType, CircuitSpec spec) {
-        return runBatch(schedulerType, spec, solverFactory.defaults());
+        return runCustom(schedulerType, spec, SolveOptions.DEFAULT);
+    }
+
+    public List<ComputedResult> runCustom(SchedulerType schedulerType, CircuitSpec spec, SolveOptions options) {
+        return runBatch(schedulerType, spec, solversFor(spec, options.method()), deadlineFrom(options.budget()),
+                options.race());
+    }
+
+    /** Lee el circuito una vez que la petición fue admitida. */
+    @FunctionalInterface
+    public interface SpecReader {
+        CircuitSpec read() throws IOException;
+    }
+
+    /**
+     * Como {@link #runCustom(SchedulerType, CircuitSpec)} para un circuito binario del que solo se leyó el encabezado:
+     * el lugar en admisión se reserva con el n y los no nulos declarados y recién entonces {@code reader} lee A, así
+     * que una petición rechazada no llega a ocupar disco ni memoria con la matriz.
+     */
+    public List<ComputedResult> runCustom(SchedulerType schedulerType, BinaryCircuitFormat.Header header,
+                                          SpecReader reader) throws IOException {
+        int jobs = (header.sparse() ? solverFactory.sparseDefaults()
+                : header.offHeap() ? solverFactory.offHeapDefaults() : solverFactory.defaults()).size();
+        AdmissionControl.Ticket ticket = admission.enqueue(jobs,
+                AdmissionControl.estimateBytes(header.n(), header.sparse() ? header.nonZeros() : -1L, jobs));
+        CircuitSpec spec;
+        try {
+            admission.await(ticket, Config.admissionWaitMs());
+            spec = reader.read();
+        } catch (IOException | RuntimeException e) {
+            admission.release(ticket);
+            throw e;
+        }
+        return runBatch(schedulerType, spec, solversFor(spec), GlobalScheduler.NO_DEADLINE, false, submitted -> {},
+                ticket, AdmissionControl.NO_TIMEOUT);
+    }
+
+    /** Como {@link #runScenario} pero sin esperar: los resultados se consultan con {@link #asyncSolve}. */
+    public AsyncSolve submitScenario(SchedulerType schedulerType, ScenarioType scenarioType, SolveOptions options) {
+        long deadlineNanos = deadlineFrom(options.budget());
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(scenarioType);
+        return submitAsync(schedulerType, spec, solversFor(spec, options.method()), deadlineNanos, options.race());
+    }
+
+    /** Como {@link #runCustom} pero sin esperar: los resultados se consultan con {@link #asyncSolve}. */
+    public AsyncSolve submitCustom(SchedulerType schedulerType, CircuitSpec spec, SolveOptions options) {
+        return submitAsync(schedulerType, spec, solversFor(spec, options.method()), deadlineFrom(options.budget()),
+                options.race());
+    }
+
+    /** @return null si no existe o ya se descartó por antigüedad. */
+    public AsyncSolve asyncSolve(String id) {
+        return id == null ? null : asyncSolves.get(id);
+    }
+
+    /** @return la resolución, cancelada salvo que ya hubiera terminado; null si no existe. */
+    public AsyncSolve cancelAsync(String id) {
+        AsyncSolve solve = asyncSolve(id);
+        if (solve != null) {
+            solve.cancel();
+        }
+        return solve;
+    }
+
+    /**
+     * El lugar en la fila de admisión se reserva acá, así que una fila llena se rechaza al enviar; después la
+     * resolución espera su turno en segundo plano sin límite de tiempo, o hasta que se cancele.
+     */
+    private AsyncSolve submitAsync(SchedulerType schedulerType, CircuitSpec spec, List<Solver> solvers,
+                                   long deadlineNanos, boolean race) {
+        evictFinishedAsync();
+        AdmissionControl.Ticket ticket = enqueue(spec, solvers.size());
+        AsyncSolve solve = new AsyncSolve(schedulerType.code(), spec.name(), () -> admission.withdraw(ticket));
+        asyncSolves.put(solve.id(), solve);
+        asyncExecutor.execute(() -> {
+            try {
+                solve.complete(runBatch(schedulerType, spec, solvers, deadlineNanos, race, solve::start, ticket,
+                        AdmissionControl.NO_TIMEOUT));
+            } catch (RuntimeException | Error e) {
+                solve.fail(e);
+            }
+        });
+        return solve;
+    }
+
+    private void evictFinishedAsync() {
+        Instant limit = Instant.now().minus(ASYNC_RETENTION);
+        asyncSolves.values().removeIf(solve -> solve.finished() != null && solve.finished().isBefore(limit));
+    }
+
+    /** Sin {@code method}, los métodos de siempre para el tipo de matriz; {@link SolverFactory#AUTO} elige uno. */
+    private List<Solver> solversFor(CircuitSpec spec, String method) {
+        if (method == null || method.isBlank()) {
+            return solversFor(spec);
+        }
+        return List.of(SolverFactory.AUTO.equalsIgnoreCase(method.trim()) ? autoSolver(spec) : solverFactory.create(method));
+    }
+
+    /**
+     * El método que {@link SolverFactory#auto} estima más rápido para el spec, con las curvas del historial. Los
+     * métodos sin historial usan su estimación a priori llevada a la escala medida de la LU por bloques, que corre en
+     * toda resolución por defecto; así compiten con los medidos y, si ganan, empiezan a tener historial.
+     */
+    private Solver autoSolver(CircuitSpec spec) {
+        int n = spec.size();
+        double measured = costModel.predictMs("blocked-lu", n);
+        double scale = Double.isNaN(measured) ? 1.0 : measured / priorCost("blocked-lu", n);
+        return solverFactory.auto(spec, (method, profile) -> {
+            double predicted = costModel.predictMs(method, n);
+            if (!Double.isNaN(predicted)) {
+                return predicted;
+            }
+            double prior = "sparse-lu".equals(method)
+                    ? priorSparseCost(n, profile.nonZeros())
+                    : priorCost(method, n);
+            return prior * scale;
+        });
+    }
+
+    private List<Solver> solversFor(CircuitSpec spec) {
+        return spec.isSparse() ? solverFactory.sparseDefaults()
+                : spec.isOffHeap() ? solverFactory.offHeapDefaults() : solverFactory.defaults();
+    }
+
+    /**
+     * Resuelve A·x = b para todos los vectores de {@code rhs} con un solo método y una sola factorización, sin pasar
+     * por el planificador. Por defecto usa LU por bloques (LU disperso si A es dispersa) y aprovecha la caché de
+     * factorizaciones igual que {@link #runCustom}.
+     */
+    public MultiSolveResult runMulti(CircuitSpec spec, double[][] rhs, String method) {
+        AdmissionControl.Ticket ticket = enqueue(spec, 1);
+        try {
+            admission.await(ticket, Config.admissionWaitMs());
+            try {
+                return solveAll(spec, rhs, method);
+            } finally {
+                admission.release(ticket);
+            }
+        } finally {
+            spec.release();
+        }
+    }
+
+    private MultiSolveResult solveAll(CircuitSpec spec, double[][] rhs, String method) {
+        if (rhs == null || rhs.length == 0) {
+            throw new IllegalArgumentException("Debe indicar al menos un vector b");
+        }
+        String requested = method != null && !method.isBlank() ? method : spec.isSparse() ? "sparse-lu" : "blocked-lu";
+        Solver solver = SolverFactory.AUTO.equalsIgnoreCase(requested.trim())
+                ? autoSolver(spec) : solverFactory.create(requested);
+        long start = System.nanoTime();
+        double[][] solutions = solveMany(solver, spec, rhs);
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+        double[] residuals = new double[solutions.length];
+        for (int c = 0; c < solutions.length; c++) {
+            double[] ax = multiply(spec, solutions[c]);
+            residuals[c] = computeResidual(ax, rhs[c]);
+        }
+        return new MultiSolveResult(solver.name(), spec.name(), elapsedMs, solutions, residuals);
+    }
+
+    public FactorizationCache.Stats factorizationCacheStats() {
+        return factorizationCache.stats();
+    }
+
+    public SchedulerExecutor.Stats schedulerStats() {
+        return SchedulerExecutor.stats();
+    }
+
+    /** Curvas de costo aprendidas por método y su error de predicción. */
+    public List<CostModel.MethodStats> costModelStats() {
+        return costModel.stats();
     }
 
-    private List<ComputedResult> runBatch(SchedulerType schedulerType, CircuitSpec spec, List<Solver> solvers) {
-        IScheduler scheduler = schedulerForType(schedulerType);
+    /** Trabajos esperando en cada cola global, de todas las peticiones en curso. */
+    public Map<String, Integer> runQueueDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        for (GlobalScheduler scheduler : List.of(GlobalScheduler.FCFS, GlobalScheduler.SJF, GlobalScheduler.RR, GlobalScheduler.MLFQ)) {
+            depths.put(scheduler.name(), scheduler.queueDepth());
+        }
+        depths.put("ws", WorkStealingRunQueue.SHARED.queueDepth());
+        depths.put(GlobalScheduler.EDF.name(), GlobalScheduler.EDF.queueDepth());
+        return depths;
+    }
+
+    public AdmissionControl.Stats admissionStats() {
+        return admission.stats();
+    }
+
+    /** Peticiones con plazo de EDF que terminaron antes o después de su vencimiento. */
+    public Map<String, Long> deadlineCounts() {
+        return Map.of("met", deadlinesMet.get(), "missed", deadlinesMissed.get());
+    }
+
+    private static long deadlineFrom(Duration budget) {
+        if (budget == null) {
+            return GlobalScheduler.NO_DEADLINE;
+        }
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("El presupuesto de latencia debe ser positivo");
+        }
+        return System.nanoTime() + budget.toNanos();
+    }
+
+    private List<ComputedResult> runBatch(SchedulerType schedulerType, CircuitSpec spec, List<Solver> solvers,
+                                          long deadlineNanos, boolean race) {
+        AdmissionControl.Ticket ticket = enqueue(spec, solvers.size());
+        return runBatch(schedulerType, spec, solvers, deadlineNanos, race, jobs -> {}, ticket,
+                Config.admissionWaitMs());
+    }
+
+    /**
+     * Espera a que {@code ticket} sea admitida, resuelve y libera el lugar. Las matrices fuera del heap, incluidas
+     * las copias de los runners que no llegaron a terminar, se liberan en cuanto se publican los resultados, también
+     * si la petición no llegó a entrar. {@code onSubmit} recibe los jobs antes de que el planificador los empiece.
+     */
+    private List<ComputedResult> runBatch(SchedulerType schedulerType, CircuitSpec spec, List<Solver> solvers,
+                                          long deadlineNanos, boolean race, Consumer<List<Job>> onSubmit,
+                                          AdmissionControl.Ticket ticket, long admissionWaitMs) {
+        List<StepRunner> runners = new ArrayList<>();
+        try {
+            admission.await(ticket, admissionWaitMs);
+            try {
+                return scheduleAndVerify(schedulerType, spec, solvers, deadlineNanos, race, onSubmit, runners);
+            } finally {
+                admission.release(ticket);
+            }
+        } finally {
+            closeRunners(runners);
+            spec.release();
+        }
+    }
+
+    /** Los runners que retienen memoria nativa la liberan aunque su job no haya corrido ningún paso. */
+    private static void closeRunners(List<StepRunner> runners) {
+        for (StepRunner runner : runners) {
+            if (runner instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    System.err.printf("WARN no se pudo liberar el runner: %s%n", e);
+                }
+            }
+        }
+    }
+
+    /** Si la fila de admisión está llena libera el spec antes de rechazar. */
+    private AdmissionControl.Ticket enqueue(CircuitSpec spec, int jobs) {
+        try {
+            return admission.enqueue(jobs, AdmissionControl.estimateBytes(spec, jobs));
+        } catch (RuntimeException e) {
+            spec.release();
+            throw e;
+        }
+    }
+
+    private List<ComputedResult> scheduleAndVerify(SchedulerType schedulerType, CircuitSpec spec, List<Solver> requested,
+                                                   long deadlineNanos, boolean race, Consumer<List<Job>> onSubmit,
+                                                   List<StepRunner> runners) {
+        boolean hasDeadline = schedulerType == SchedulerType.EDF && deadlineNanos != GlobalScheduler.NO_DEADLINE;
+        List<Solver> solvers = hasDeadline ? solversBefore(spec, requested, deadlineNanos) : requested;
         List<Job> jobs = new ArrayList<>();
+        List<CacheUse> cacheUses = new ArrayList<>();
+        // jobs cuyo runner tomó la factorización de la caché: su tiempo no es el del método y no se aprende
+        Set<String> cachedJobIds = new HashSet<>();
         for (Solver solver : solvers) {
-            StepRunner runner = runnerForSolver(solver.name(), spec.a(), spec.b());
-            Long estimated = estimateCost(solver.name(), spec.size());
-            jobs.add(new Job(solver.name(), spec.a(), spec.b(), runner, estimated));
+            CacheUse cache = new CacheUse();
+            StepRunner runner = runnerForSolver(solver.name(), spec, cache);
+            runners.add(runner);
+            Long estimated = predictedCost(spec, solver.name());
+            Job job;
+            if (spec.isSparse()) {
+                job = new Job(solver.name(), spec.sparse(), spec.b(), runner, estimated);
+            } else if (spec.isOffHeap()) {
+                job = new Job(solver.name(), spec.offHeap(), spec.b(), runner, estimated);
+            } else {
+                job = new Job(solver.name(), spec.matrix(), spec.b(), runner, estimated);
+            }
+            jobs.add(job);
+            cacheUses.add(cache);
+            if (cache.hit) {
+                cachedJobIds.add(job.getId());
+            }
         }
+        IScheduler scheduler = schedulerForType(schedulerType, jobs, deadlineNanos);
+        onSubmit.accept(jobs);
         for (Job job : jobs) {
             scheduler.submit(job);
         }
         int jobCount = jobs.size();
         eventBus.publish(Topics.STATUS, new StatusEvent("running", schedulerType.code(), jobCount));
-        List<Result> results = scheduler.runAll();
+        RaceOutcome raced = race ? race(scheduler, jobs, spec) : null;
+        List<Result> results = race ? raced.finished() : scheduler.runAll();
+        if (hasDeadline) {
+            (System.nanoTime() - deadlineNanos <= 0 ? deadlinesMet : deadlinesMissed).incrementAndGet();
+        }
+        cacheUses.forEach(CacheUse::store);
         List<ComputedResult> computedResults = new ArrayList<>(results.size());
-        double[][] matrix = spec.a();
         double[] target = spec.b();
         for (Result result : results) {
-            double residual = computeResidual(matrix, result.getSolution(), target);
+            // A·x se calcula una sola vez y alimenta tanto el residual como la verificación por ecuación
+            double[] ax = multiply(spec, result.getSolution());
+            double residual = computeResidual(ax, target);
             if (!Double.isNaN(residual) && residual > 1e-6) {
                 System.err.printf("WARN residual alto method=%s residual=%e%n", result.getMethodName(), residual);
             }
-            List<EquationCheck> verifications = verifyEquations(matrix, result.getSolution(), target);
-            metricsLogger.log(result, schedulerType.code(), spec.name(), residual);
+            List<EquationCheck> verifications = verifyEquations(ax, target);
+            boolean cached = cachedJobIds.contains(result.getJobId());
+            metricsLogger.log(result, schedulerType.code(), spec.name(), residual, spec.size(), cached);
+            if (!cached) {
+                costModel.observe(result.getMethodName(), spec.size(), result.getElapsedMs());
+            }
             eventBus.publish(Topics.RESULT, new ResultEvent(
                     "result",
                     result.getJobId(),
@@ -87,67 +439,330 @@ public class Controller {
             computedResults.add(new ComputedResult(result, residual, schedulerType.code(), spec.name(), verifications));
         }
         eventBus.publish(Topics.STATUS, new StatusEvent("done", schedulerType.code(), jobCount));
-        return computedResults;
+        return race ? List.of(raceWinner(computedResults, raced.winner())) : computedResults;
+    }
+
+    /**
+     * Corre los jobs en carrera: el primero que termina con residual dentro de {@code RACE_TOLERANCE}·max(1, ‖b‖)
+     * cancela a los demás, que se detienen en su próximo límite entre pasos. Los que fallan no detienen la carrera.
+     */
+    private RaceOutcome race(IScheduler scheduler, List<Job> jobs, CircuitSpec spec) {
+        double tolerance = RACE_TOLERANCE * Math.max(1.0, computeResidual(new double[spec.size()], spec.b()));
+        List<Result> finished = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Result> winner = new AtomicReference<>();
+        for (Job job : jobs) {
+            job.whenFinished(result -> {
+                finished.add(result);
+                double residual = computeResidual(multiply(spec, result.getSolution()), spec.b());
+                if (residual <= tolerance && winner.compareAndSet(null, result)) {
+                    jobs.stream().filter(other -> other != job).forEach(Job::cancel);
+                }
+            });
+        }
+        try {
+            scheduler.runAll();
+        } catch (IllegalStateException e) {
+            // los perdedores cancelados hacen fallar runAll; solo es un error si nadie terminó
+            if (finished.isEmpty()) {
+                throw e;
+            }
+        }
+        return new RaceOutcome(List.copyOf(finished), winner.get());
     }
 
-    private StepRunner runnerForSolver(String solverName, double[][] a, double[] b) {
+    /** El ganador de la carrera o, si ninguno pasó la tolerancia, el de menor residual. */
+    private static ComputedResult raceWinner(List<ComputedResult> computed, Result winner) {
+        Comparator<ComputedResult> byResidual = Comparator.comparingDouble(
+                result -> Double.isNaN(result.residual()) ? Double.MAX_VALUE : result.residual());
+        return computed.stream()
+                .filter(result -> winner != null && result.result().getJobId().equals(winner.getJobId()))
+                .findFirst()
+                .orElseGet(() -> computed.stream().min(byResidual).orElseThrow());
+    }
+
+    /** Jobs que terminaron en una carrera, en orden de llegada, y el primero que pasó la tolerancia (null si ninguno). */
+    private record RaceOutcome(List<Result> finished, Result winner) {}
+
+    /**
+     * Todos los runners leen la misma {@link DenseMatrix} del spec; solo copian A los que la modifican
+     * (factorizaciones y Gauss-Jordan). Los métodos basados en LU o Cholesky toman la factorización de la caché si
+     * ya se factorizó la misma A, y lo anotan en {@code cache}; si no, le agregan el guardado de la factorización
+     * nueva, que se ejecuta cuando terminan los jobs.
+     */
+    private StepRunner runnerForSolver(String solverName, CircuitSpec spec, CacheUse cache) {
         String normalized = solverName.toLowerCase(Locale.ROOT);
+        if (spec.isSparse()) {
+            return switch (normalized) {
+                case "sparse-lu", "sparse_lu", "sparse" -> new SparseLuStepRunner(sparseLuFor(spec, cache), spec.b());
+                default -> throw new IllegalArgumentException("Solver no soportado para circuitos dispersos: " + solverName);
+            };
+        }
+        if (spec.isOffHeap()) {
+            return switch (normalized) {
+                case "blocked-lu", "blocked_lu", "lu" -> new OffHeapLuStepRunner(
+                        new OffHeapLuFactorization(spec.offHeap()), spec.b(), BlockedLuSolver.DEFAULT_BLOCK_SIZE);
+                default -> throw new IllegalArgumentException("Solver no soportado para matrices fuera del heap: " + solverName);
+            };
+        }
+        DenseMatrix a = spec.matrix();
+        double[] b = spec.b();
         return switch (normalized) {
-            case "cramer" -> new CramerStepRunner(a, b);
+            case "cramer" -> new CramerStepRunner(luFor(spec, a, cache), b);
             case "gauss", "gauss-jordan", "gauss_jordan" -> new GaussJordanStepRunner(a, b);
             case "library", "commons" -> new LibraryStepRunner(a, b);
+            case "blocked-lu", "blocked_lu", "lu" ->
+                    new BlockedLuStepRunner(luFor(spec, a, cache), b, BlockedLuSolver.DEFAULT_BLOCK_SIZE);
+            case "cg", "conjugate-gradient" -> new ConjugateGradientStepRunner(a, b);
+            case "cholesky" -> {
+                CholeskyFactorization cholesky = choleskyFor(spec, a, cache);
+                // sin simetría Cholesky no aplica y se resuelve con la LU compartida, sin volver a verificarla
+                yield cholesky != null ? new CholeskyStepRunner(a, b, cholesky)
+                        : new BlockedLuStepRunner(luFor(spec, a, cache), b, BlockedLuSolver.DEFAULT_BLOCK_SIZE);
+            }
+            case "sparse-lu", "sparse_lu", "sparse" -> new SparseLuStepRunner(CsrMatrix.fromDense(a), b);
+            case "mixed", "mixed-precision", "mixed_precision" -> new MixedPrecisionStepRunner(a, b);
             default -> throw new IllegalArgumentException("Solver no soportado para Round Robin: " + solverName);
         };
     }
 
-    private IScheduler schedulerForType(SchedulerType type) {
+    private double[][] solveMany(Solver solver, CircuitSpec spec, double[][] rhs) {
+        CacheUse cache = new CacheUse();
+        double[][] solutions;
+        if (spec.isSparse()) {
+            if (!"sparse-lu".equals(solver.name())) {
+                throw new IllegalArgumentException("Solver no soportado para circuitos dispersos: " + solver.name());
+            }
+            SparseLuFactorization lu = sparseLuFor(spec, cache);
+            lu.factorize();
+            if (lu.isSingular()) {
+                throw new IllegalArgumentException("Sistema singular o mal condicionado");
+            }
+            solutions = lu.solveMany(rhs);
+        } else if (spec.isOffHeap()) {
+            if (!"blocked-lu".equals(solver.name())) {
+                throw new IllegalArgumentException("Solver no soportado para matrices fuera del heap: " + solver.name());
+            }
+            try (OffHeapLuFactorization lu = new OffHeapLuFactorization(spec.offHeap())) {
+                lu.factorizeBlocked(BlockedLuSolver.DEFAULT_BLOCK_SIZE);
+                if (lu.isSingular()) {
+                    throw new IllegalArgumentException("Sistema singular o mal condicionado");
+                }
+                solutions = lu.solveMany(rhs);
+            }
+        } else if ("blocked-lu".equals(solver.name())) {
+            LuFactorization lu = luFor(spec, spec.matrix(), cache);
+            lu.factorizeBlocked(BlockedLuSolver.DEFAULT_BLOCK_SIZE);
+            if (lu.isSingular()) {
+                throw new IllegalArgumentException("Sistema singular o mal condicionado");
+            }
+            solutions = lu.solveMany(rhs);
+        } else if ("cholesky".equals(solver.name())) {
+            DenseMatrix a = spec.matrix();
+            CholeskyFactorization cholesky = choleskyFor(spec, a, cache);
+            if (cholesky != null) {
+                cholesky.factorize();
+            }
+            solutions = cholesky != null && cholesky.isPositiveDefinite()
+                    ? cholesky.solveMany(rhs)
+                    : new BlockedLuSolver().solveMany(a, rhs);
+        } else {
+            solutions = solver.solveMany(spec.matrix(), rhs);
+        }
+        cache.store();
+        return solutions;
+    }
+
+    /** La misma LU con pivoteo parcial sirve a Cramer y a la LU por bloques, así que se guarda una sola vez. */
+    private LuFactorization luFor(CircuitSpec spec, DenseMatrix a, CacheUse cache) {
+        LuFactorization cached = factorizationCache.get(spec.fingerprint(), a, "lu", LuFactorization.class);
+        if (cached != null) {
+            cache.hit = true;
+            return cached;
+        }
+        LuFactorization fresh = new LuFactorization(a);
+        cache.updates.add(() -> {
+            if (fresh.isComplete() && !fresh.isSingular()) {
+                factorizationCache.put(spec.fingerprint(), a, "lu", fresh, fresh.memoryBytes() + matrixBytes(spec));
+            }
+        });
+        return fresh;
+    }
+
+    /** @return null si A no es simétrica, en cuyo caso el runner de Cholesky resuelve con LU. */
+    private CholeskyFactorization choleskyFor(CircuitSpec spec, DenseMatrix a, CacheUse cache) {
+        CholeskyFactorization cached = factorizationCache.get(spec.fingerprint(), a, "cholesky", CholeskyFactorization.class);
+        if (cached != null) {
+            cache.hit = true;
+            return cached;
+        }
+        if (!spec.isSymmetric()) {
+            return null;
+        }
+        CholeskyFactorization fresh = new CholeskyFactorization(a);
+        cache.updates.add(() -> {
+            if (fresh.isComplete() && fresh.isPositiveDefinite()) {
+                factorizationCache.put(spec.fingerprint(), a, "cholesky", fresh, fresh.memoryBytes() + matrixBytes(spec));
+            }
+        });
+        return fresh;
+    }
+
+    private SparseLuFactorization sparseLuFor(CircuitSpec spec, CacheUse cache) {
+        SparseLuFactorization cached = factorizationCache.get(spec.fingerprint(), spec.sparse(), "sparse-lu", SparseLuFactorization.class);
+        if (cached != null) {
+            cache.hit = true;
+            return cached;
+        }
+        SparseLuFactorization fresh = new SparseLuFactorization(spec.sparse());
+        cache.updates.add(() -> {
+            if (fresh.isComplete() && !fresh.isSingular()) {
+                factorizationCache.put(spec.fingerprint(), spec.sparse(), "sparse-lu", fresh,
+                        fresh.memoryBytes() + matrixBytes(spec));
+            }
+        });
+        return fresh;
+    }
+
+    /**
+     * Uso de la caché de factorizaciones por un método: los guardados pendientes de las factorizaciones nuevas y si
+     * alguna se tomó ya hecha.
+     */
+    private static final class CacheUse {
+        private final List<Runnable> updates = new ArrayList<>();
+        private boolean hit;
+
+        void store() {
+            updates.forEach(Runnable::run);
+        }
+    }
+
+    /** Memoria de A, que la caché retiene junto a la factorización para verificar los aciertos. */
+    private static long matrixBytes(CircuitSpec spec) {
+        return AdmissionControl.estimateBytes(spec, 0);
+    }
+
+    /**
+     * Métodos de {@code requested} que se estima que terminan antes de {@code deadlineNanos}, sumando sus costos
+     * repartidos entre los hilos del planificador. Si alguno no llega se agrega en su lugar el más rápido disponible
+     * para el spec, aunque tampoco llegue: siempre queda al menos un método.
+     */
+    private List<Solver> solversBefore(CircuitSpec spec, List<Solver> requested, long deadlineNanos) {
+        double capacityMs = Math.max(0L, deadlineNanos - System.nanoTime()) / 1_000_000.0 * SchedulerExecutor.parallelism();
+        List<Solver> kept = new ArrayList<>();
+        double usedMs = 0.0;
+        for (Solver solver : requested) {
+            long cost = predictedCost(spec, solver.name());
+            if (usedMs + cost <= capacityMs) {
+                kept.add(solver);
+                usedMs += cost;
+            }
+        }
+        if (kept.size() == requested.size()) {
+            return kept;
+        }
+        Solver fastest = autoSolver(spec);
+        String fastestName = fastest.name();
+        if (kept.stream().noneMatch(solver -> solver.name().equals(fastestName))) {
+            kept.add(fastest);
+        }
+        return kept;
+    }
+
+    private long predictedCost(CircuitSpec spec, String solverName) {
+        double prior = spec.isSparse()
+                ? priorSparseCost(spec.size(), spec.sparse().nonZeros())
+                : priorCost(solverName, spec.size());
+        return costModel.estimate(solverName, spec.size(), Math.max(1L, Math.round(prior)));
+    }
+
+    private IScheduler schedulerForType(SchedulerType type, List<Job> jobs, long deadlineNanos) {
         return switch (type) {
             case FCFS -> new FCFSScheduler();
             case SJF -> new SJFScheduler();
-            case RR -> new RoundRobinScheduler();
+            case RR -> new RoundRobinScheduler(quantumFor(jobs));
+            case WS -> new WorkStealingScheduler(quantumFor(jobs));
+            case MLFQ -> new MlfqScheduler();
+            case EDF -> new EdfScheduler(deadlineNanos, quantumFor(jobs));
         };
     }
 
-    private long estimateCost(String solverName, int size) {
-        double base = Math.pow(Math.max(1, size), 3);
-        double factor = switch (solverName.toLowerCase(Locale.ROOT)) {
-            case "cramer" -> 2.5;
-            case "gauss", "gauss-jordan", "gauss_jordan" -> 1.5;
-            case "library", "commons" -> 0.8;
-            default -> 1.0;
+    /**
+     * Quantum de RR según las estimaciones de la petición: un cuarto del trabajo mediano, para que cada trabajo tome
+     * unas pocas vueltas sin pagar un cambio por cada paso.
+     */
+    private long quantumFor(List<Job> jobs) {
+        long[] estimates = jobs.stream()
+                .mapToLong(job -> job.getEstimatedMs() != null ? job.getEstimatedMs() : Config.QUANTUM_MS)
+                .sorted()
+                .toArray();
+        if (estimates.length == 0) {
+            return Config.QUANTUM_MS;
+        }
+        long median = estimates[estimates.length / 2];
+        return Math.max(MIN_QUANTUM_MS, Math.min(MAX_QUANTUM_MS, median / 4));
+    }
+
+    /**
+     * Estimación a priori en milisegundos, hasta que {@link CostModel} tenga observaciones del método. No se redondea:
+     * en sistemas chicos todas quedarían en 1 ms y la comparación de {@link SolverFactory#auto} no distinguiría nada.
+     */
+    private double priorCost(String solverName, int size) {
+        double n = Math.max(1, size);
+        double cube = Math.pow(n, 3);
+        double micros = switch (solverName.toLowerCase(Locale.ROOT)) {
+            // O(n²) por iteración y del orden de √n iteraciones en sistemas bien condicionados
+            case "cg", "conjugate-gradient" -> 2.0 * Math.pow(n, 2.5);
+            case "cramer" -> 2.5 * cube;
+            case "gauss", "gauss-jordan", "gauss_jordan" -> 1.5 * cube;
+            case "library", "commons" -> 0.8 * cube;
+            case "blocked-lu", "blocked_lu", "lu" -> 0.5 * cube;
+            case "cholesky" -> 0.25 * cube;
+            case "mixed", "mixed-precision", "mixed_precision" -> 0.35 * cube;
+            default -> cube;
         };
-        return Math.max(1L, Math.round(base * factor / 1_000));
+        return micros / 1_000;
     }
 
-    private double computeResidual(double[][] a, double[] x, double[] b) {
-        if (a == null || b == null || x == null || x.length == 0) {
-            return Double.NaN;
+    private double priorSparseCost(int size, long nonZeros) {
+        // con grado mínimo el relleno por columna de una netlist plana crece como (nnz/n)·log n y el trabajo
+        // por columna como su cuadrado; misma escala que priorCost
+        double n = Math.max(2, size);
+        double perColumn = (double) nonZeros / n * Math.log(n);
+        return n * perColumn * perColumn / 1_000;
+    }
+
+    private double[] multiply(CircuitSpec spec, double[] x) {
+        if (x == null || x.length != spec.size() || x.length == 0) {
+            return null;
         }
-        double sum = 0.0;
-        for (int i = 0; i < a.length; i++) {
-            double ax = 0.0;
-            for (int j = 0; j < a[i].length && j < x.length; j++) {
-                ax += a[i][j] * x[j];
-            }
-            double diff = ax - (i < b.length ? b[i] : 0.0);
-            sum += diff * diff;
+        if (spec.isSparse()) {
+            return spec.sparse().multiply(x);
+        }
+        double[] ax = new double[x.length];
+        if (spec.isOffHeap()) {
+            spec.offHeap().multiply(kernels, x, ax, new double[x.length]);
+        } else {
+            spec.matrix().multiply(kernels, x, ax);
         }
-        return Math.sqrt(sum);
+        return ax;
     }
 
-    private List<EquationCheck> verifyEquations(double[][] a, double[] x, double[] b) {
-        if (a == null || x == null || b == null || x.length == 0) {
+    private double computeResidual(double[] ax, double[] b) {
+        if (ax == null || b == null) {
+            return Double.NaN;
+        }
+        return Residuals.norm(ax, b);
+    }
+
+    private List<EquationCheck> verifyEquations(double[] ax, double[] b) {
+        if (ax == null || b == null) {
             return List.of();
         }
-        List<EquationCheck> checks = new ArrayList<>(a.length);
-        for (int i = 0; i < a.length; i++) {
-            double lhs = 0.0;
-            for (int j = 0; j < a[i].length && j < x.length; j++) {
-                lhs += a[i][j] * x[j];
-            }
+        List<EquationCheck> checks = new ArrayList<>(ax.length);
+        for (int i = 0; i < ax.length; i++) {
             double rhs = i < b.length ? b[i] : 0.0;
-            double error = Math.abs(lhs - rhs);
-            checks.add(new EquationCheck(i, lhs, rhs, error));
+            double error = Math.abs(ax[i] - rhs);
+            checks.add(new EquationCheck(i, ax[i], rhs, error));
         }
         return checks;
     }
@@ -156,8 +771,24 @@ public class Controller {
                               double elapsedMs, double waitingMs, double turnaroundMs, double residual, double[] x,
                               List<EquationCheck> equations) {}
 
+    /**
+     * Opciones de una resolución.
+     * @param budget latencia máxima desde ahora; null sin plazo. Solo la usa EDF, que ordena por vencimiento y cambia
+     *               los métodos que no llegarían a tiempo por el más rápido.
+     * @param race   los métodos corren en carrera: se devuelve solo el primer resultado cuyo residual pasa la
+     *               tolerancia y los demás jobs se cancelan en su próximo límite entre pasos.
+     * @param method un solo método por nombre, o {@link SolverFactory#AUTO} para elegirlo según el circuito; null
+     *               corre los de siempre.
+     */
+    public record SolveOptions(Duration budget, boolean race, String method) {
+        public static final SolveOptions DEFAULT = new SolveOptions(null, false, null);
+    }
+
     public record ComputedResult(Result result, double residual, String schedulerCode, String scenarioName,
                                  List<EquationCheck> equations) {}
 
+    public record MultiSolveResult(String method, String scenarioName, double elapsedMs, double[][] solutions,
+                                   double[] residuals) {}
+
     public record EquationCheck(int row, double lhs, double rhs, double error) {}
 }
@@ -0,0 +1,16 @@
+package com.example.dc.controller;
+
+/** La petición no entró en {@link AdmissionControl}; la API responde 429 con {@code Retry-After}. */
+public class OverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
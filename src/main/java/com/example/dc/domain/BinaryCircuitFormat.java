@@ -0,0 +1,275 @@
+package com.example.dc.domain;
+
+import com.example.dc.utils.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Formato binario little-endian para subir circuitos grandes y descargar soluciones sin pasar por JSON.
+ * <pre>
+ * circuito:  int magic "DCM1" | int tipo (0 densa, 1 CSR) | int n | int nnz (0 si densa) | int flags (bit 0: simétrica) | int 0
+ *   densa:   n·n double A (row-major) | n double b
+ *   CSR:     nnz double valores | n double b | (n + 1) int punteros de fila | nnz int columnas (ordenadas por fila)
+ * solución:  int magic "DCX1" | int n | int cantidad | int 0
+ *   por resultado: 16 bytes nombre del método (ASCII, relleno con ceros) | double residual | n double x
+ * </pre>
+ * Los doubles quedan alineados a 8 bytes. El cuerpo se vuelca a un archivo temporal y se lee proyectándolo en
+ * memoria, sin armar {@code double[][]}: A densa va a un único {@code double[]} o, a partir de
+ * {@link Config#offHeapMinSize()}, queda directamente proyectada como {@link OffHeapMatrix}. El encabezado se puede
+ * leer antes con {@link #readHeader} para reservar recursos según n y nnz sin haber recibido el resto.
+ */
+public final class BinaryCircuitFormat {
+
+    public static final String CONTENT_TYPE = "application/octet-stream";
+
+    private static final int CIRCUIT_MAGIC = 0x314D4344;
+    private static final int SOLUTION_MAGIC = 0x31584344;
+    private static final int KIND_DENSE = 0;
+    private static final int KIND_CSR = 1;
+    private static final int FLAG_SYMMETRIC = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int SOLUTION_HEADER_BYTES = 16;
+    private static final int METHOD_NAME_BYTES = 16;
+    private static final int COPY_BUFFER_BYTES = 1 << 16;
+    /** Las proyecciones de FileChannel no pueden superar 2 GB; se leen ventanas de 1 GB. */
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    private BinaryCircuitFormat() {}
+
+    /** Encabezado DCM1 ya validado. */
+    public record Header(int kind, int n, int nonZeros, int flags) {
+
+        public boolean sparse() {
+            return kind == KIND_CSR;
+        }
+
+        public boolean symmetric() {
+            return (flags & FLAG_SYMMETRIC) != 0;
+        }
+
+        /** Si A densa quedará fuera del heap al leerla. */
+        public boolean offHeap() {
+            return !sparse() && n >= Config.offHeapMinSize();
+        }
+
+        /** Bytes del circuito completo, encabezado incluido. */
+        public long totalBytes() {
+            return sparse()
+                    ? HEADER_BYTES + ((long) nonZeros + n) * Double.BYTES + ((long) n + 1 + nonZeros) * Integer.BYTES
+                    : HEADER_BYTES + ((long) n * n + n) * Double.BYTES;
+        }
+
+        private byte[] toBytes() {
+            return ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(CIRCUIT_MAGIC).putInt(kind).putInt(n).putInt(nonZeros).putInt(flags).putInt(0)
+                    .array();
+        }
+    }
+
+    /** Vuelca {@code body} a un archivo temporal y lo lee; el archivo se borra cuando ya no se necesita. */
+    public static CircuitSpec read(InputStream body, String name) throws IOException {
+        return read(readHeader(body), body, name);
+    }
+
+    /** Lee y valida solo el encabezado; {@code body} queda posicionado al comienzo de A. */
+    public static Header readHeader(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(HEADER_BYTES);
+        return header(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN), bytes.length);
+    }
+
+    /**
+     * Vuelca a un archivo temporal el resto de un circuito cuyo encabezado ya se leyó y lo lee. Se copian como mucho
+     * los bytes que declara {@code header}: un cuerpo más largo se rechaza sin terminar de recibirlo.
+     */
+    public static CircuitSpec read(Header header, InputStream rest, String name) throws IOException {
+        Path file = Files.createTempFile("dc-circuit-", ".bin");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(header.toBytes());
+            long total = header.totalBytes();
+            long remaining = total - HEADER_BYTES;
+            byte[] buffer = new byte[COPY_BUFFER_BYTES];
+            int read;
+            while (remaining > 0 && (read = rest.read(buffer, 0, (int) Math.min(buffer.length, remaining))) >= 0) {
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+            if (remaining > 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Formato binario inválido: se esperaban %d bytes y llegaron %d", total, total - remaining));
+            }
+            if (rest.read() >= 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Formato binario inválido: se esperaban %d bytes y llegaron más", total));
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return read(file, name, true);
+    }
+
+    /**
+     * @param deleteWhenDone borra {@code file} al terminar de leerlo o, si A quedó proyectada fuera del heap, al
+     *                       liberar el spec.
+     */
+    public static CircuitSpec read(Path file, String name, boolean deleteWhenDone) throws IOException {
+        boolean mapped = false;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // lectura completa del encabezado
+            }
+            Header header = header(buffer, buffer.position());
+            int n = header.n();
+            boolean symmetric = header.symmetric();
+            long expected = header.totalBytes();
+            if (channel.size() != expected) {
+                throw new IllegalArgumentException(String.format(
+                        "Formato binario inválido: se esperaban %d bytes y llegaron %d", expected, channel.size()));
+            }
+            if (header.sparse()) {
+                return readSparse(channel, n, header.nonZeros(), name, symmetric);
+            }
+            double[] b = new double[n];
+            readDoubles(channel, HEADER_BYTES + (long) n * n * Double.BYTES, b, 0, n);
+            if (header.offHeap()) {
+                OffHeapMatrix a = readOffHeap(channel, file, n, deleteWhenDone);
+                mapped = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+                try {
+                    return new CircuitSpec(a, b, name, symmetric);
+                } catch (RuntimeException e) {
+                    a.close();
+                    throw e;
+                }
+            }
+            if ((long) n * n > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Matriz demasiado grande para el heap; configure DC_OFFHEAP_MIN_N");
+            }
+            double[] a = new double[n * n];
+            readDoubles(channel, HEADER_BYTES, a, 0, a.length);
+            return new CircuitSpec(DenseMatrix.wrap(n, a), b, name, symmetric);
+        } finally {
+            if (deleteWhenDone && !mapped) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /** Soluciones de varios métodos sobre el mismo circuito, en el formato DCX1. */
+    public static byte[] writeSolutions(int n, List<String> methods, List<double[]> solutions, double[] residuals) {
+        int count = solutions.size();
+        long bytes = SOLUTION_HEADER_BYTES + (long) count * (METHOD_NAME_BYTES + Double.BYTES + (long) n * Double.BYTES);
+        if (bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Solución demasiado grande para una sola respuesta");
+        }
+        ByteBuffer out = ByteBuffer.allocate((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(SOLUTION_MAGIC).putInt(n).putInt(count).putInt(0);
+        for (int r = 0; r < count; r++) {
+            byte[] method = methods.get(r).getBytes(StandardCharsets.US_ASCII);
+            byte[] padded = new byte[METHOD_NAME_BYTES];
+            System.arraycopy(method, 0, padded, 0, Math.min(method.length, METHOD_NAME_BYTES));
+            out.put(padded);
+            out.putDouble(residuals[r]);
+            double[] x = solutions.get(r);
+            if (x == null || x.length != n) {
+                throw new IllegalArgumentException("Dimensiones inválidas");
+            }
+            out.asDoubleBuffer().put(x);
+            out.position(out.position() + n * Double.BYTES);
+        }
+        return out.array();
+    }
+
+    private static Header header(ByteBuffer buffer, int length) {
+        if (length < HEADER_BYTES || buffer.getInt(0) != CIRCUIT_MAGIC) {
+            throw new IllegalArgumentException("Formato binario inválido: falta el encabezado DCM1");
+        }
+        Header header = new Header(buffer.getInt(4), buffer.getInt(8), buffer.getInt(12), buffer.getInt(16));
+        if (header.n() <= 0 || header.nonZeros() < 0 || (header.kind() != KIND_DENSE && header.kind() != KIND_CSR)) {
+            throw new IllegalArgumentException("Formato binario inválido: tipo o dimensiones no soportados");
+        }
+        return header;
+    }
+
+    private static CircuitSpec readSparse(FileChannel channel, int n, int nnz, String name, boolean symmetric)
+            throws IOException {
+        double[] values = new double[nnz];
+        double[] b = new double[n];
+        int[] rowPointers = new int[n + 1];
+        int[] columns = new int[nnz];
+        long offset = HEADER_BYTES;
+        readDoubles(channel, offset, values, 0, nnz);
+        offset += (long) nnz * Double.BYTES;
+        readDoubles(channel, offset, b, 0, n);
+        offset += (long) n * Double.BYTES;
+        readInts(channel, offset, rowPointers);
+        offset += (long) (n + 1) * Integer.BYTES;
+        readInts(channel, offset, columns);
+        return new CircuitSpec(CsrMatrix.fromCompressed(n, rowPointers, columns, values), b, name, symmetric);
+    }
+
+    /**
+     * En plataformas little-endian A queda proyectada tal cual; en otras se copia fila por fila a memoria nativa
+     * convirtiendo el orden de bytes.
+     */
+    private static OffHeapMatrix readOffHeap(FileChannel channel, Path file, int n, boolean deleteWhenDone)
+            throws IOException {
+        if (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
+            return OffHeapMatrix.map(file, HEADER_BYTES, n, () -> {
+                if (deleteWhenDone) {
+                    deleteQuietly(file);
+                }
+            });
+        }
+        OffHeapMatrix a = OffHeapMatrix.allocate(n);
+        double[] row = new double[n];
+        for (int i = 0; i < n; i++) {
+            readDoubles(channel, HEADER_BYTES + (long) i * n * Double.BYTES, row, 0, n);
+            a.writeRow(i, 0, row, 0, n);
+        }
+        return a;
+    }
+
+    private static void readDoubles(FileChannel channel, long offset, double[] dest, int destOffset, int count)
+            throws IOException {
+        int done = 0;
+        while (done < count) {
+            int chunk = Math.min(count - done, WINDOW_BYTES / Double.BYTES);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                    offset + (long) done * Double.BYTES, (long) chunk * Double.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(dest, destOffset + done, chunk);
+            done += chunk;
+        }
+    }
+
+    private static void readInts(FileChannel channel, long offset, int[] dest) throws IOException {
+        int done = 0;
+        while (done < dest.length) {
+            int chunk = Math.min(dest.length - done, WINDOW_BYTES / Integer.BYTES);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                    offset + (long) done * Integer.BYTES, (long) chunk * Integer.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(dest, done, chunk);
+            done += chunk;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.example.dc.domain;
 
 public class Circuit {
-    private final double[][] a;
+    private final DenseMatrix a;
     private final double[] b;
 
     public Circuit(double[][] a, double[] b) {
-        this.a = copyMatrix(a);
+        this(DenseMatrix.of(a), b);
+    }
+
+    public Circuit(DenseMatrix a, double[] b) {
+        this.a = a;
         this.b = b.clone();
     }
 
     public double[][] getA() {
-        return copyMatrix(a);
+        return a.toArray();
+    }
+
+    /** A sin copiar. */
+    public DenseMatrix getMatrix() {
+        return a;
     }
 
     public double[] getB() {
@@ -18,14 +27,6 @@ public class Circuit {
     }
 
     public int size() {
-        return a.length;
-    }
-
-    private double[][] copyMatrix(double[][] matrix) {
-        double[][] copy = new double[matrix.length][];
-        for (int i = 0; i < matrix.length; i++) {
-            copy[i] = matrix[i].clone();
-        }
-        return copy;
+        return a.size();
     }
 }
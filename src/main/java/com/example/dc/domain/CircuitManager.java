@@ -2,13 +2,15 @@ package com.example.dc.domain;
 
 import com.example.dc.utils.Config;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.ThreadLocalRandom;
 
 public enum CircuitManager {
     INSTANCE;
 
     public Circuit fromSpec(CircuitSpec spec) {
-        return new Circuit(spec.a(), spec.b());
+        return new Circuit(spec.matrix() != null ? spec.matrix() : DenseMatrix.of(spec.a()), spec.b());
     }
 
     public CircuitSpec generateScenario(ScenarioType type) {
@@ -20,20 +22,56 @@ public enum CircuitManager {
         if (size <= 0) {
             throw new IllegalArgumentException("Escenario desconocido: " + name);
         }
-        double[][] a = generateWellConditionedMatrix(size);
+        DenseMatrix a = generateWellConditionedMatrix(size);
         double[] b = generateVector(size);
-        return new CircuitSpec(a, b, name + "-" + System.currentTimeMillis());
+        // AᵀA + 0.5·I es simétrica por construcción
+        return new CircuitSpec(a, b, name + "-" + System.currentTimeMillis(), true);
     }
 
     public CircuitSpec custom(String name, double[][] a, double[] b) {
+        return custom(name, a, b, false);
+    }
+
+    /**
+     * A queda en el heap aunque supere {@link Config#offHeapMinSize()}: cuando llega como {@code double[][]} ya está
+     * entera en el heap, y copiarla fuera duplicaría el pico de memoria en vez de reducirlo. Los circuitos grandes
+     * se suben con {@link BinaryCircuitFormat}, que lee A fuera del heap sin pasar por el array.
+     */
+    public CircuitSpec custom(String name, double[][] a, double[] b, boolean symmetric) {
         validateDimensions(a, b);
-        return new CircuitSpec(a, b, name);
+        return new CircuitSpec(a, b, name, symmetric);
+    }
+
+    public CircuitSpec custom(String name, CsrMatrix a, double[] b, boolean symmetric) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Matriz y vector no pueden ser nulos");
+        }
+        if (a.size() != b.length) {
+            throw new IllegalArgumentException("Dimensiones inconsistentes entre A y b");
+        }
+        return new CircuitSpec(a, b, name, symmetric);
+    }
+
+    /** Circuito en el formato de {@link BinaryCircuitFormat}; A no pasa por {@code double[][]}. */
+    public CircuitSpec custom(String name, InputStream binary) throws IOException {
+        if (binary == null) {
+            throw new IllegalArgumentException("payload requerido");
+        }
+        return BinaryCircuitFormat.read(binary, name);
+    }
+
+    /** Resto de un circuito binario cuyo encabezado ya se leyó con {@link BinaryCircuitFormat#readHeader}. */
+    public CircuitSpec custom(String name, BinaryCircuitFormat.Header header, InputStream rest) throws IOException {
+        if (header == null || rest == null) {
+            throw new IllegalArgumentException("payload requerido");
+        }
+        return BinaryCircuitFormat.read(header, rest, name);
     }
 
     public CircuitSpec custom(String name, CircuitPhysicalModel model) {
         double[][] a = model.buildMatrix();
         double[] b = model.buildVector();
-        return new CircuitSpec(a, b, name);
+        return new CircuitSpec(a, b, name, model.symmetric());
     }
 
     public CircuitSpec custom(CircuitPhysicalModel model) {
@@ -54,7 +92,7 @@ public enum CircuitManager {
         }
     }
 
-    private double[][] generateWellConditionedMatrix(int n) {
+    private DenseMatrix generateWellConditionedMatrix(int n) {
         ThreadLocalRandom rnd = ThreadLocalRandom.current();
         double[][] m = new double[n][n];
         for (int i = 0; i < n; i++) {
@@ -62,7 +100,7 @@ public enum CircuitManager {
                 m[i][j] = rnd.nextDouble(-5.0, 5.0);
             }
         }
-        double[][] a = new double[n][n];
+        double[] a = new double[n * n];
         for (int i = 0; i < n; i++) {
             for (int j = 0; j < n; j++) {
                 double sum = 0.0;
@@ -72,10 +110,10 @@ public enum CircuitManager {
                 if (i == j) {
                     sum += 0.5;
                 }
-                a[i][j] = sum;
+                a[i * n + j] = sum;
             }
         }
-        return a;
+        return DenseMatrix.wrap(n, a);
     }
 
     private double[] generateVector(int n) {
@@ -4,5 +4,9 @@ public interface CircuitPhysicalModel {
     double[][] buildMatrix();
     double[] buildVector();
     String name();
+
+    default boolean symmetric() {
+        return false;
+    }
 }
 
@@ -1,20 +1,115 @@
 package com.example.dc.domain;
 
+import com.example.dc.patterns.solver.CholeskyFactorization;
+
 import java.util.Arrays;
+import java.util.Objects;
 
 public final class CircuitSpec {
-    private final double[][] a;
+    private final DenseMatrix matrix;
+    private final CsrMatrix sparse;
+    private final OffHeapMatrix offHeap;
     private final double[] b;
     private final String name;
+    private final boolean symmetric;
+    private final long fingerprint;
+    /** Resultado de {@link #isSymmetric()}; null hasta la primera consulta. */
+    private volatile Boolean checkedSymmetric;
 
     public CircuitSpec(double[][] a, double[] b, String name) {
-        this.a = deepCopyMatrix(a);
+        this(a, b, name, false);
+    }
+
+    /**
+     * @param symmetric el llamador garantiza que A es simétrica; los solvers que lo aprovechan (Cholesky)
+     *                  omiten entonces la verificación.
+     */
+    public CircuitSpec(double[][] a, double[] b, String name, boolean symmetric) {
+        this(a != null ? DenseMatrix.of(a) : null, b, name, symmetric);
+    }
+
+    /**
+     * A se comparte por referencia, ya que {@link DenseMatrix} es inmutable; es la única copia de A que recorre
+     * el pipeline (jobs, runners y verificación de residuales).
+     */
+    public CircuitSpec(DenseMatrix a, double[] b, String name, boolean symmetric) {
+        this.matrix = a;
+        this.sparse = null;
+        this.offHeap = null;
+        this.b = b != null ? b.clone() : null;
+        this.name = name;
+        this.symmetric = symmetric;
+        this.fingerprint = a != null ? a.fingerprint() : 0L;
+    }
+
+    /**
+     * Circuito disperso: A se guarda solo en CSR y se comparte por referencia, ya que {@link CsrMatrix} es
+     * inmutable.
+     */
+    public CircuitSpec(CsrMatrix a, double[] b, String name, boolean symmetric) {
+        this.matrix = null;
+        this.sparse = a;
+        this.offHeap = null;
         this.b = b != null ? b.clone() : null;
         this.name = name;
+        this.symmetric = symmetric;
+        this.fingerprint = a != null ? a.fingerprint() : 0L;
     }
 
+    /**
+     * Circuito denso guardado fuera del heap. El spec pasa a ser dueño de A: quien lo resuelve la libera con
+     * {@link #release()} al publicar los resultados, por lo que no puede resolverse dos veces.
+     */
+    public CircuitSpec(OffHeapMatrix a, double[] b, String name, boolean symmetric) {
+        this.matrix = null;
+        this.sparse = null;
+        this.offHeap = a;
+        this.b = b != null ? b.clone() : null;
+        this.name = name;
+        this.symmetric = symmetric;
+        this.fingerprint = a != null ? a.fingerprint() : 0L;
+    }
+
+    /**
+     * Copia de A como {@code double[][]}; en circuitos dispersos la expande a densa. Quien pueda debe usar
+     * {@link #matrix()} o {@link #sparse()}, que no copian.
+     */
     public double[][] a() {
-        return deepCopyMatrix(a);
+        if (sparse != null) {
+            return sparse.toDense();
+        }
+        if (offHeap != null) {
+            return offHeap.toArray();
+        }
+        return matrix != null ? matrix.toArray() : null;
+    }
+
+    /** A densa, sin copiar; null en circuitos dispersos o fuera del heap. */
+    public DenseMatrix matrix() {
+        return matrix;
+    }
+
+    public boolean isSparse() {
+        return sparse != null;
+    }
+
+    public CsrMatrix sparse() {
+        return sparse;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap != null;
+    }
+
+    public OffHeapMatrix offHeap() {
+        return offHeap;
+    }
+
+    /** Libera la memoria fuera del heap, si la hay; no tiene efecto en specs en el heap. */
+    public void release() {
+        if (offHeap != null) {
+            offHeap.close();
+        }
     }
 
     public double[] b() {
@@ -25,27 +120,53 @@ public final class CircuitSpec {
         return name;
     }
 
-    public int size() {
-        return a.length;
+    /** Simetría declarada por el llamador, sin verificar. */
+    public boolean symmetric() {
+        return symmetric;
+    }
+
+    /**
+     * A es simétrica: la declarada o, si A es densa en el heap, verificada en O(n²) una sola vez por spec, así que
+     * Cholesky y la elección de método comparten la misma verificación. Dispersa o fuera del heap solo cuenta la
+     * declarada.
+     */
+    public boolean isSymmetric() {
+        Boolean checked = checkedSymmetric;
+        if (checked == null) {
+            checked = symmetric || (matrix != null && CholeskyFactorization.isSymmetric(matrix));
+            checkedSymmetric = checked;
+        }
+        return checked;
+    }
+
+    /**
+     * Huella de 64 bits del contenido de A, calculada una sola vez; dos specs con la misma A (aunque distinto b o
+     * nombre) comparten huella y por lo tanto factorizaciones en caché. No es criptográfica: la caché compara además
+     * la A completa antes de reutilizar una factorización.
+     */
+    public long fingerprint() {
+        return fingerprint;
     }
 
-    private static double[][] deepCopyMatrix(double[][] source) {
-        if (source == null) {
-            return null;
+    public int size() {
+        if (sparse != null) {
+            return sparse.size();
         }
-        double[][] copy = new double[source.length][];
-        for (int i = 0; i < source.length; i++) {
-            copy[i] = source[i] != null ? source[i].clone() : null;
+        if (offHeap != null) {
+            return offHeap.size();
         }
-        return copy;
+        return matrix != null ? matrix.size() : 0;
     }
 
     @Override
     public String toString() {
         return "CircuitSpec{" +
                 "name='" + name + '\'' +
-                ", size=" + (a != null ? a.length : 0) +
+                ", size=" + size() +
+                ", sparse=" + (sparse != null) +
+                ", offHeap=" + (offHeap != null) +
                 ", bLength=" + (b != null ? b.length : 0) +
+                ", symmetric=" + symmetric +
                 '}';
     }
 
@@ -54,14 +175,18 @@ public final class CircuitSpec {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         CircuitSpec that = (CircuitSpec) o;
-        return Arrays.deepEquals(a, that.a) && Arrays.equals(b, that.b) && name.equals(that.name);
+        return symmetric == that.symmetric && Objects.equals(matrix, that.matrix) && Objects.equals(sparse, that.sparse)
+                && Objects.equals(offHeap, that.offHeap) && Arrays.equals(b, that.b) && name.equals(that.name);
     }
 
     @Override
     public int hashCode() {
-        int result = Arrays.deepHashCode(a);
+        int result = Objects.hashCode(matrix);
+        result = 31 * result + Objects.hashCode(sparse);
+        result = 31 * result + Objects.hashCode(offHeap);
         result = 31 * result + Arrays.hashCode(b);
         result = 31 * result + name.hashCode();
+        result = 31 * result + Boolean.hashCode(symmetric);
         return result;
     }
 }
@@ -0,0 +1,284 @@
+package com.example.dc.domain;
+
+import java.util.Arrays;
+
+/**
+ * Matriz cuadrada dispersa inmutable en formato CSR (filas comprimidas). Al ser inmutable se comparte por
+ * referencia entre CircuitSpec, Job y los solvers sin copias defensivas.
+ */
+public final class CsrMatrix {
+
+    private final int n;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+
+    private CsrMatrix(int n, int[] rowPointers, int[] columnIndices, double[] values) {
+        this.n = n;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * Construye la matriz a partir de tripletas (fila, columna, valor); las entradas repetidas se suman,
+     * como al estampar conductancias de una netlist.
+     */
+    public static CsrMatrix fromTriplets(int n, int[] rows, int[] columns, double[] entries) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("El tamaño de la matriz debe ser positivo");
+        }
+        if (rows.length != columns.length || rows.length != entries.length) {
+            throw new IllegalArgumentException("Tripletas inconsistentes");
+        }
+        int count = rows.length;
+        int[] rowCounts = new int[n + 1];
+        for (int k = 0; k < count; k++) {
+            if (rows[k] < 0 || rows[k] >= n || columns[k] < 0 || columns[k] >= n) {
+                throw new IllegalArgumentException("Índice fuera de rango en tripleta " + k);
+            }
+            rowCounts[rows[k] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            rowCounts[i + 1] += rowCounts[i];
+        }
+        int[] next = Arrays.copyOf(rowCounts, n);
+        int[] unsortedColumns = new int[count];
+        double[] unsortedValues = new double[count];
+        for (int k = 0; k < count; k++) {
+            int slot = next[rows[k]]++;
+            unsortedColumns[slot] = columns[k];
+            unsortedValues[slot] = entries[k];
+        }
+        // ordenar columnas dentro de cada fila y sumar duplicados
+        int[] rowPointers = new int[n + 1];
+        int[] columnIndices = new int[count];
+        double[] values = new double[count];
+        int[] lastSlot = new int[n];
+        Arrays.fill(lastSlot, -1);
+        int nnz = 0;
+        for (int i = 0; i < n; i++) {
+            int rowStart = nnz;
+            for (int k = rowCounts[i]; k < rowCounts[i + 1]; k++) {
+                int column = unsortedColumns[k];
+                if (lastSlot[column] >= rowStart) {
+                    values[lastSlot[column]] += unsortedValues[k];
+                } else {
+                    lastSlot[column] = nnz;
+                    columnIndices[nnz] = column;
+                    values[nnz] = unsortedValues[k];
+                    nnz++;
+                }
+            }
+            sortRow(columnIndices, values, rowStart, nnz);
+            rowPointers[i + 1] = nnz;
+        }
+        return new CsrMatrix(n, rowPointers, Arrays.copyOf(columnIndices, nnz), Arrays.copyOf(values, nnz));
+    }
+
+    /**
+     * Adopta arreglos CSR ya armados (sin copiarlos), validando punteros, rangos y que las columnas de cada fila
+     * estén ordenadas y sin repetir. Solo para quien acaba de construirlos, como {@link BinaryCircuitFormat}.
+     */
+    static CsrMatrix fromCompressed(int n, int[] rowPointers, int[] columnIndices, double[] values) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("El tamaño de la matriz debe ser positivo");
+        }
+        if (rowPointers.length != n + 1 || rowPointers[0] != 0 || rowPointers[n] != columnIndices.length
+                || columnIndices.length != values.length) {
+            throw new IllegalArgumentException("Punteros de fila inconsistentes");
+        }
+        for (int i = 0; i < n; i++) {
+            if (rowPointers[i + 1] < rowPointers[i]) {
+                throw new IllegalArgumentException("Punteros de fila inconsistentes");
+            }
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                int column = columnIndices[p];
+                if (column < 0 || column >= n || (p > rowPointers[i] && column <= columnIndices[p - 1])) {
+                    throw new IllegalArgumentException("Columnas inválidas en la fila " + i);
+                }
+            }
+        }
+        return new CsrMatrix(n, rowPointers, columnIndices, values);
+    }
+
+    public static CsrMatrix fromDense(double[][] a) {
+        int n = a.length;
+        int nnz = 0;
+        for (double[] row : a) {
+            if (row.length != n) {
+                throw new IllegalArgumentException("La matriz A debe ser cuadrada");
+            }
+            for (double value : row) {
+                if (value != 0.0) {
+                    nnz++;
+                }
+            }
+        }
+        int[] rowPointers = new int[n + 1];
+        int[] columnIndices = new int[nnz];
+        double[] values = new double[nnz];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (a[i][j] != 0.0) {
+                    columnIndices[k] = j;
+                    values[k] = a[i][j];
+                    k++;
+                }
+            }
+            rowPointers[i + 1] = k;
+        }
+        return new CsrMatrix(n, rowPointers, columnIndices, values);
+    }
+
+    public static CsrMatrix fromDense(DenseMatrix a) {
+        int n = a.size();
+        int nnz = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (a.get(i, j) != 0.0) {
+                    nnz++;
+                }
+            }
+        }
+        int[] rowPointers = new int[n + 1];
+        int[] columnIndices = new int[nnz];
+        double[] values = new double[nnz];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double value = a.get(i, j);
+                if (value != 0.0) {
+                    columnIndices[k] = j;
+                    values[k] = value;
+                    k++;
+                }
+            }
+            rowPointers[i + 1] = k;
+        }
+        return new CsrMatrix(n, rowPointers, columnIndices, values);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public int nonZeros() {
+        return rowPointers[n];
+    }
+
+    public int rowStart(int row) {
+        return rowPointers[row];
+    }
+
+    public int rowEnd(int row) {
+        return rowPointers[row + 1];
+    }
+
+    public int columnAt(int index) {
+        return columnIndices[index];
+    }
+
+    public double valueAt(int index) {
+        return values[index];
+    }
+
+    public double[] multiply(double[] x) {
+        double[] out = new double[n];
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                sum += values[k] * x[columnIndices[k]];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /** Transpuesta en CSR, que equivale a la matriz original en formato CSC. */
+    public CsrMatrix transpose() {
+        int nnz = nonZeros();
+        int[] counts = new int[n + 1];
+        for (int k = 0; k < nnz; k++) {
+            counts[columnIndices[k] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            counts[i + 1] += counts[i];
+        }
+        int[] next = Arrays.copyOf(counts, n);
+        int[] transposedColumns = new int[nnz];
+        double[] transposedValues = new double[nnz];
+        for (int i = 0; i < n; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int slot = next[columnIndices[k]]++;
+                transposedColumns[slot] = i;
+                transposedValues[slot] = values[k];
+            }
+        }
+        return new CsrMatrix(n, counts, transposedColumns, transposedValues);
+    }
+
+    /** Huella de 64 bits del patrón y los valores, con la misma mezcla que {@code CircuitSpec#fingerprint()}. */
+    public long fingerprint() {
+        long hash = n;
+        for (int i = 0; i < n; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                hash = (hash ^ ((long) i << 32 | columnIndices[k])) * 0x9E3779B97F4A7C15L;
+                hash = (hash ^ Double.doubleToLongBits(values[k])) * 0x9E3779B97F4A7C15L;
+                hash ^= hash >>> 29;
+            }
+        }
+        return hash;
+    }
+
+    public double[][] toDense() {
+        double[][] dense = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                dense[i][columnIndices[k]] = values[k];
+            }
+        }
+        return dense;
+    }
+
+    private static void sortRow(int[] columns, double[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int column = columns[i];
+            double value = values[i];
+            int j = i - 1;
+            while (j >= from && columns[j] > column) {
+                columns[j + 1] = columns[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            columns[j + 1] = column;
+            values[j + 1] = value;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CsrMatrix{" + "n=" + n + ", nnz=" + nonZeros() + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CsrMatrix that = (CsrMatrix) o;
+        return n == that.n
+                && Arrays.equals(rowPointers, that.rowPointers)
+                && Arrays.equals(columnIndices, that.columnIndices)
+                && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Integer.hashCode(n);
+        result = 31 * result + Arrays.hashCode(rowPointers);
+        result = 31 * result + Arrays.hashCode(columnIndices);
+        result = 31 * result + Arrays.hashCode(values);
+        return result;
+    }
+}
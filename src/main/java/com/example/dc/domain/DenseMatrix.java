@@ -0,0 +1,112 @@
+package com.example.dc.domain;
+
+import com.example.dc.patterns.solver.Kernels;
+
+import java.util.Arrays;
+
+/**
+ * Matriz cuadrada densa inmutable, guardada en un único {@code double[]} row-major (fila i en [i·n, i·n + n)).
+ * Como {@link CsrMatrix}, se comparte por referencia entre CircuitSpec, Job, runners y solvers; solo copia quien
+ * necesita modificarla (por ejemplo, una factorización).
+ */
+public final class DenseMatrix {
+
+    private final int n;
+    private final double[] data;
+
+    private DenseMatrix(int n, double[] data) {
+        this.n = n;
+        this.data = data;
+    }
+
+    /** Copia A; falla si no es cuadrada. */
+    public static DenseMatrix of(double[][] a) {
+        if (a == null) {
+            throw new IllegalArgumentException("A no puede ser nula");
+        }
+        int n = a.length;
+        double[] data = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            if (a[i] == null || a[i].length != n) {
+                throw new IllegalArgumentException("La matriz A debe ser cuadrada");
+            }
+            System.arraycopy(a[i], 0, data, i * n, n);
+        }
+        return new DenseMatrix(n, data);
+    }
+
+    /** Adopta el buffer sin copiarlo; solo para quien lo acaba de construir y no lo vuelve a tocar. */
+    static DenseMatrix wrap(int n, double[] rowMajor) {
+        return new DenseMatrix(n, rowMajor);
+    }
+
+    /** Copia un buffer row-major de n×n. */
+    public static DenseMatrix fromRowMajor(int n, double[] rowMajor) {
+        if (n < 0 || rowMajor == null || rowMajor.length != n * n) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        return new DenseMatrix(n, rowMajor.clone());
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public double get(int row, int column) {
+        return data[row * n + column];
+    }
+
+    /** Copia {@code length} valores de la fila {@code row} desde la columna {@code fromColumn}. */
+    public void copyRow(int row, int fromColumn, double[] dest, int destOffset, int length) {
+        System.arraycopy(data, row * n + fromColumn, dest, destOffset, length);
+    }
+
+    /** Copia la matriz completa, row-major, en {@code dest} a partir de {@code destOffset}. */
+    public void copyTo(double[] dest, int destOffset) {
+        System.arraycopy(data, 0, dest, destOffset, data.length);
+    }
+
+    /** out = A·x con los núcleos indicados; x y out deben tener largo n. */
+    public void multiply(Kernels kernels, double[] x, double[] out) {
+        for (int i = 0; i < n; i++) {
+            out[i] = kernels.dot(data, i * n, x, 0, n);
+        }
+    }
+
+    /** Copia a {@code double[][]}, para código que todavía trabaja con filas sueltas. */
+    public double[][] toArray() {
+        double[][] rows = new double[n][];
+        for (int i = 0; i < n; i++) {
+            rows[i] = Arrays.copyOfRange(data, i * n, i * n + n);
+        }
+        return rows;
+    }
+
+    /** Huella de 64 bits del contenido; ver {@code CircuitSpec#fingerprint()}. */
+    public long fingerprint() {
+        long hash = n;
+        for (double value : data) {
+            hash = (hash ^ Double.doubleToLongBits(value)) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "DenseMatrix{" + "n=" + n + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DenseMatrix that = (DenseMatrix) o;
+        return n == that.n && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Integer.hashCode(n) + Arrays.hashCode(data);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.dc.domain;
+
+import com.example.dc.patterns.solver.Kernels;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Matriz cuadrada densa row-major fuera del heap, en un segmento nativo con vida explícita: la memoria se libera
+ * en {@link #close()} y no pasa por el GC. Usa la Foreign Function & Memory API, en vista previa en JDK 21: requiere
+ * {@code --enable-preview}; ver {@code Config#offHeapMinSize()}.
+ * <p>
+ * Se lee y escribe por filas a través de buffers del heap del tamaño de una fila, que es como la consumen
+ * {@code OffHeapLuFactorization} y el cálculo de residuales. El segmento es compartido entre hilos; no debe
+ * cerrarse mientras otro hilo lo usa.
+ */
+public final class OffHeapMatrix implements AutoCloseable {
+
+    private static final AtomicLong LIVE_BYTES = new AtomicLong();
+
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE;
+
+    private final int n;
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final Runnable onClose;
+
+    private OffHeapMatrix(int n) {
+        this.n = n;
+        this.arena = Arena.ofShared();
+        long bytes = (long) n * n * Double.BYTES;
+        this.segment = arena.allocate(bytes, Double.BYTES);
+        LIVE_BYTES.addAndGet(bytes);
+        this.onClose = () -> LIVE_BYTES.addAndGet(-bytes);
+    }
+
+    private OffHeapMatrix(int n, Arena arena, MemorySegment segment, Runnable onClose) {
+        this.n = n;
+        this.arena = arena;
+        this.segment = segment;
+        this.onClose = onClose;
+    }
+
+    /** Matriz de n×n en cero. */
+    public static OffHeapMatrix allocate(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("El tamaño de la matriz debe ser positivo");
+        }
+        OffHeapMatrix matrix = new OffHeapMatrix(n);
+        matrix.segment.fill((byte) 0);
+        return matrix;
+    }
+
+    /** Copia A fila por fila; falla si no es cuadrada. */
+    public static OffHeapMatrix of(double[][] a) {
+        if (a == null || a.length == 0) {
+            throw new IllegalArgumentException("El tamaño de la matriz debe ser positivo");
+        }
+        int n = a.length;
+        for (double[] row : a) {
+            if (row == null || row.length != n) {
+                throw new IllegalArgumentException("La matriz A debe ser cuadrada");
+            }
+        }
+        OffHeapMatrix matrix = new OffHeapMatrix(n);
+        for (int i = 0; i < n; i++) {
+            matrix.writeRow(i, 0, a[i], 0, n);
+        }
+        return matrix;
+    }
+
+    /**
+     * Proyecta en memoria, de solo lectura, n×n doubles row-major en orden nativo a partir de {@code offset} bytes
+     * de {@code file}. No copia ni cuenta en {@link #liveBytes()}: las páginas las maneja el sistema operativo y
+     * {@link #close()} deshace la proyección, tras lo cual se ejecuta {@code onClose}.
+     */
+    public static OffHeapMatrix map(Path file, long offset, int n, Runnable onClose) throws IOException {
+        if (n <= 0) {
+            throw new IllegalArgumentException("El tamaño de la matriz debe ser positivo");
+        }
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = (long) n * n * Double.BYTES;
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes, arena);
+            return new OffHeapMatrix(n, arena, segment, onClose);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            onClose.run();
+            throw e;
+        }
+    }
+
+    /** Bytes nativos reservados por todas las matrices todavía abiertas. */
+    public static long liveBytes() {
+        return LIVE_BYTES.get();
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public long byteSize() {
+        return segment.byteSize();
+    }
+
+    public boolean isOpen() {
+        return arena.scope().isAlive();
+    }
+
+    public double get(int row, int column) {
+        return segment.getAtIndex(DOUBLE, (long) row * n + column);
+    }
+
+    public void set(int row, int column, double value) {
+        segment.setAtIndex(DOUBLE, (long) row * n + column, value);
+    }
+
+    /** Copia {@code length} valores de la fila {@code row} desde la columna {@code fromColumn}. */
+    public void copyRow(int row, int fromColumn, double[] dest, int destOffset, int length) {
+        MemorySegment.copy(segment, DOUBLE, offsetOf(row, fromColumn), dest, destOffset, length);
+    }
+
+    /** Escribe {@code length} valores de {@code src} en la fila {@code row} desde la columna {@code fromColumn}. */
+    public void writeRow(int row, int fromColumn, double[] src, int srcOffset, int length) {
+        MemorySegment.copy(src, srcOffset, segment, DOUBLE, offsetOf(row, fromColumn), length);
+    }
+
+    /** Copia independiente y modificable, también fuera del heap y con su propio ciclo de vida. */
+    public OffHeapMatrix copy() {
+        OffHeapMatrix copy = new OffHeapMatrix(n);
+        copy.segment.copyFrom(segment);
+        return copy;
+    }
+
+    /** out = A·x leyendo A de a una fila; {@code rowBuffer} debe tener largo n. */
+    public void multiply(Kernels kernels, double[] x, double[] out, double[] rowBuffer) {
+        for (int i = 0; i < n; i++) {
+            copyRow(i, 0, rowBuffer, 0, n);
+            out[i] = kernels.dot(rowBuffer, 0, x, 0, n);
+        }
+    }
+
+    /** Copia al heap; solo para matrices chicas o código que todavía necesita {@code double[][]}. */
+    public double[][] toArray() {
+        double[][] rows = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            copyRow(i, 0, rows[i], 0, n);
+        }
+        return rows;
+    }
+
+    /** Misma huella que {@link DenseMatrix#fingerprint()} para el mismo contenido. */
+    public long fingerprint() {
+        long hash = n;
+        long count = (long) n * n;
+        for (long k = 0; k < count; k++) {
+            hash = (hash ^ Double.doubleToLongBits(segment.getAtIndex(DOUBLE, k))) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    /** Libera la memoria nativa; llamadas repetidas no tienen efecto. */
+    @Override
+    public synchronized void close() {
+        if (arena.scope().isAlive()) {
+            arena.close();
+            onClose.run();
+        }
+    }
+
+    private long offsetOf(int row, int fromColumn) {
+        return ((long) row * n + fromColumn) * Double.BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapMatrix{" + "n=" + n + ", open=" + arena.scope().isAlive() + '}';
+    }
+}
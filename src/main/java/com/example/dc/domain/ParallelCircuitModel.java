@@ -45,4 +45,9 @@ public class ParallelCircuitModel implements CircuitPhysicalModel {
     public String name() {
         return name != null ? name : "paralelo";
     }
+
+    @Override
+    public boolean symmetric() {
+        return true;
+    }
 }
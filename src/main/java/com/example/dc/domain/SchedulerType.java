@@ -5,7 +5,10 @@ import java.util.Locale;
 public enum SchedulerType {
     FCFS("fcfs"),
     RR("rr"),
-    SJF("sjf");
+    SJF("sjf"),
+    WS("ws"),
+    MLFQ("mlfq"),
+    EDF("edf");
 
     private final String code;
 
@@ -25,6 +28,9 @@ public enum SchedulerType {
             case "fcfs" -> FCFS;
             case "rr" -> RR;
             case "sjf" -> SJF;
+            case "ws", "work-stealing", "work_stealing" -> WS;
+            case "mlfq" -> MLFQ;
+            case "edf" -> EDF;
             default -> throw new IllegalArgumentException("sched inválido: " + value);
         };
     }
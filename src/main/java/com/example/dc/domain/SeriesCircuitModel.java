@@ -35,4 +35,9 @@ public class SeriesCircuitModel implements CircuitPhysicalModel {
     public String name() {
         return name != null ? name : "serie";
     }
+
+    @Override
+    public boolean symmetric() {
+        return true;
+    }
 }
@@ -0,0 +1,70 @@
+package com.example.dc.dto;
+
+public class MultiSolveRequest {
+
+    private double[][] a;
+    private Integer n;
+    /** Forma dispersa de A: lista de [fila, columna, valor]; las entradas repetidas se suman. */
+    private double[][] triplets;
+    /** Un vector b por configuración de fuentes; todos se resuelven con la misma factorización de A. */
+    private double[][] b;
+    private String method;
+    private String name;
+    private Boolean symmetric;
+
+    public double[][] getA() {
+        return a;
+    }
+
+    public void setA(double[][] a) {
+        this.a = a;
+    }
+
+    public Integer getN() {
+        return n;
+    }
+
+    public void setN(Integer n) {
+        this.n = n;
+    }
+
+    public double[][] getTriplets() {
+        return triplets;
+    }
+
+    public void setTriplets(double[][] triplets) {
+        this.triplets = triplets;
+    }
+
+    public double[][] getB() {
+        return b;
+    }
+
+    public void setB(double[][] b) {
+        this.b = b;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Boolean getSymmetric() {
+        return symmetric;
+    }
+
+    public void setSymmetric(Boolean symmetric) {
+        this.symmetric = symmetric;
+    }
+}
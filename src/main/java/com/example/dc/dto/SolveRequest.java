@@ -6,6 +6,18 @@ public class SolveRequest {
     private double[] b;
     private String sched;
     private String name;
+    private Boolean symmetric;
+    private Integer n;
+    /** Forma dispersa de A: lista de [fila, columna, valor]; las entradas repetidas se suman. */
+    private double[][] triplets;
+    /** Latencia máxima en ms; con sched=edf ordena los métodos por vencimiento. */
+    private Long budgetMs;
+    /** Alternativa a budgetMs: instante ISO-8601 en que vence la petición. */
+    private String deadline;
+    /** Devolver solo el primer método que resuelve con residual aceptable y cancelar los demás. */
+    private Boolean race;
+    /** Un solo método por nombre, o "auto" para elegirlo según el circuito; sin valor corren los de siempre. */
+    private String method;
 
     public double[][] getA() {
         return a;
@@ -38,4 +50,60 @@ public class SolveRequest {
     public void setName(String name) {
         this.name = name;
     }
+
+    public Boolean getSymmetric() {
+        return symmetric;
+    }
+
+    public void setSymmetric(Boolean symmetric) {
+        this.symmetric = symmetric;
+    }
+
+    public Integer getN() {
+        return n;
+    }
+
+    public void setN(Integer n) {
+        this.n = n;
+    }
+
+    public double[][] getTriplets() {
+        return triplets;
+    }
+
+    public void setTriplets(double[][] triplets) {
+        this.triplets = triplets;
+    }
+
+    public Long getBudgetMs() {
+        return budgetMs;
+    }
+
+    public void setBudgetMs(Long budgetMs) {
+        this.budgetMs = budgetMs;
+    }
+
+    public String getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(String deadline) {
+        this.deadline = deadline;
+    }
+
+    public Boolean getRace() {
+        return race;
+    }
+
+    public void setRace(Boolean race) {
+        this.race = race;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
 }
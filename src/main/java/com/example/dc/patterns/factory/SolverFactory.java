@@ -1,22 +1,84 @@
 package com.example.dc.patterns.factory;
 
+import com.example.dc.domain.CircuitSpec;
+import com.example.dc.domain.DenseMatrix;
+import com.example.dc.patterns.solver.BlockedLuSolver;
+import com.example.dc.patterns.solver.CholeskySolver;
+import com.example.dc.patterns.solver.ConjugateGradientSolver;
 import com.example.dc.patterns.solver.CramerSolver;
 import com.example.dc.patterns.solver.GaussJordanSolver;
 import com.example.dc.patterns.solver.LibrarySolver;
+import com.example.dc.patterns.solver.MixedPrecisionSolver;
 import com.example.dc.patterns.solver.Solver;
+import com.example.dc.patterns.solver.SparseLuSolver;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.ToDoubleBiFunction;
 
 @Component
 public class SolverFactory {
 
+    /** Nombre de método que pide a {@link #auto} elegir uno solo según el circuito. */
+    public static final String AUTO = "auto";
+
+    /** Proporción de no nulos por debajo de la cual una A densa se prueba también con LU dispersa. */
+    private static final double SPARSE_MAX_DENSITY = 0.1;
+    /** En sistemas chicos convertir a CSR cuesta más de lo que ahorra. */
+    private static final int SPARSE_MIN_SIZE = 64;
+
+    /**
+     * Estructura de A que decide qué métodos aplican.
+     * @param dominantDiagonal cada fila tiene diagonal positiva y mayor que la suma del resto en valor absoluto; si
+     *                         además A es simétrica, es definida positiva.
+     */
+    public record MatrixProfile(int size, long nonZeros, boolean symmetric, boolean dominantDiagonal) {
+
+        public double density() {
+            return size == 0 ? 0.0 : (double) nonZeros / ((double) size * size);
+        }
+
+        /** La simetría sale de {@link CircuitSpec#isSymmetric()}, que la verifica una sola vez por spec. */
+        public static MatrixProfile of(CircuitSpec spec) {
+            return of(spec.matrix(), spec.isSymmetric());
+        }
+
+        /** @param symmetric si A es simétrica; no se vuelve a verificar. */
+        public static MatrixProfile of(DenseMatrix a, boolean symmetric) {
+            int n = a.size();
+            long nonZeros = 0;
+            boolean dominant = true;
+            for (int i = 0; i < n; i++) {
+                double offDiagonal = 0.0;
+                for (int j = 0; j < n; j++) {
+                    double value = a.get(i, j);
+                    if (value != 0.0) {
+                        nonZeros++;
+                        if (j != i) {
+                            offDiagonal += Math.abs(value);
+                        }
+                    }
+                }
+                dominant &= a.get(i, i) > offDiagonal;
+            }
+            return new MatrixProfile(n, nonZeros, symmetric, dominant);
+        }
+    }
+
     public Solver create(String name) {
         return switch (name.toLowerCase(Locale.ROOT)) {
             case "cramer" -> new CramerSolver();
+            case "cramer-classic", "cramer_classic" -> new CramerSolver(CramerSolver.Mode.CLASSIC);
             case "gauss", "gauss-jordan", "gauss_jordan" -> new GaussJordanSolver();
             case "library", "commons" -> new LibrarySolver();
+            case "blocked-lu", "blocked_lu", "lu" -> new BlockedLuSolver();
+            case "cg", "conjugate-gradient" -> new ConjugateGradientSolver();
+            case "cholesky" -> new CholeskySolver();
+            case "mixed", "mixed-precision", "mixed_precision" -> new MixedPrecisionSolver();
+            case "sparse-lu", "sparse_lu", "sparse" -> new SparseLuSolver();
             default -> throw new IllegalArgumentException("Solver desconocido: " + name);
         };
     }
@@ -25,7 +87,51 @@ public class SolverFactory {
         return List.of(
                 new CramerSolver(),
                 new GaussJordanSolver(),
-                new LibrarySolver()
+                new LibrarySolver(),
+                new BlockedLuSolver()
         );
     }
+
+    /** Solvers que no necesitan expandir A a densa; se usan para circuitos dados en CSR. */
+    public List<Solver> sparseDefaults() {
+        return List.of(new SparseLuSolver());
+    }
+
+    /** Con A fuera del heap solo la LU por bloques evita traer la matriz completa al heap. */
+    public List<Solver> offHeapDefaults() {
+        return List.of(new BlockedLuSolver());
+    }
+
+    /**
+     * Un solo método para {@code spec}. Dispersa o fuera del heap hay uno solo que la trabaja sin expandirla. Densa,
+     * se descartan por estructura los que no aplican (Cholesky requiere A simétrica y pasa a LU si no es definida
+     * positiva; gradiente conjugado, simétrica con diagonal dominante; precisión mixta, diagonal dominante; LU
+     * dispersa, pocos no nulos) y de los restantes gana el de menor {@code costMs}, que el llamador estima con el
+     * historial de cada método.
+     */
+    public Solver auto(CircuitSpec spec, ToDoubleBiFunction<String, MatrixProfile> costMs) {
+        if (spec.isSparse()) {
+            return sparseDefaults().get(0);
+        }
+        if (spec.isOffHeap()) {
+            return offHeapDefaults().get(0);
+        }
+        MatrixProfile profile = MatrixProfile.of(spec);
+        List<Solver> candidates = new ArrayList<>(defaults());
+        if (profile.symmetric()) {
+            candidates.add(new CholeskySolver(true));
+        }
+        if (profile.dominantDiagonal()) {
+            candidates.add(new MixedPrecisionSolver());
+            if (profile.symmetric()) {
+                candidates.add(new ConjugateGradientSolver());
+            }
+        }
+        if (profile.size() >= SPARSE_MIN_SIZE && profile.density() <= SPARSE_MAX_DENSITY) {
+            candidates.add(new SparseLuSolver());
+        }
+        return candidates.stream()
+                .min(Comparator.comparingDouble(solver -> costMs.applyAsDouble(solver.name(), profile)))
+                .orElseThrow();
+    }
 }
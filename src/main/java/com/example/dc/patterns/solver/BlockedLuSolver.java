@@ -0,0 +1,76 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.DenseMatrix;
+
+/**
+ * LU right-looking por bloques sobre almacenamiento plano row-major. El panel de {@link #DEFAULT_BLOCK_SIZE}
+ * columnas por fila (512 B) entra en L1 y los mosaicos de U12 en L2, a diferencia de las filas sueltas de
+ * un {@code double[][]}.
+ */
+public class BlockedLuSolver implements Solver {
+
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private final int blockSize;
+
+    public BlockedLuSolver() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public BlockedLuSolver(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo");
+        }
+        this.blockSize = blockSize;
+    }
+
+    public int blockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public String name() {
+        return "blocked-lu";
+    }
+
+    /** Copia A a almacenamiento plano; valida y factoriza igual que las sobrecargas de {@link DenseMatrix}. */
+    @Override
+    public double[] solve(double[][] a, double[] b) {
+        Solver.requireInputs(a, b);
+        return solve(DenseMatrix.of(a), b);
+    }
+
+    @Override
+    public double[][] solveMany(double[][] a, double[][] rhs) {
+        Solver.requireInputs(a, rhs);
+        return solveMany(DenseMatrix.of(a), rhs);
+    }
+
+    @Override
+    public double[] solve(DenseMatrix a, double[] b) {
+        Solver.requireInputs(a, b);
+        if (b.length != a.size()) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        return factor(a).solve(b);
+    }
+
+    /** El largo de cada vector lo verifica la sustitución. */
+    @Override
+    public double[][] solveMany(DenseMatrix a, double[][] rhs) {
+        Solver.requireInputs(a, rhs);
+        return factor(a).solveMany(rhs);
+    }
+
+    /** Validación común de las sobrecargas, antes del trabajo O(n³). */
+    private LuFactorization factor(DenseMatrix a) {
+        if (a.size() == 0) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        LuFactorization lu = LuFactorization.factorBlocked(a, blockSize);
+        if (lu.isSingular()) {
+            throw new IllegalArgumentException("Sistema singular o mal condicionado");
+        }
+        return lu;
+    }
+}
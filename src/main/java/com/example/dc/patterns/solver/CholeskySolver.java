@@ -0,0 +1,63 @@
+package com.example.dc.patterns.solver;
+
+/**
+ * Cholesky empaquetado para matrices simétricas definidas positivas. Si A no es simétrica (o no es definida
+ * positiva) resuelve con LU por bloques, de modo que siempre devuelve una solución para sistemas no singulares.
+ */
+public class CholeskySolver implements Solver {
+
+    private final boolean assumeSymmetric;
+
+    public CholeskySolver() {
+        this(false);
+    }
+
+    /**
+     * @param assumeSymmetric omite la verificación O(n²) de simetría; solo debe usarse cuando el llamador
+     *                        garantiza que A es simétrica (ver {@code CircuitSpec#symmetric()}).
+     */
+    public CholeskySolver(boolean assumeSymmetric) {
+        this.assumeSymmetric = assumeSymmetric;
+    }
+
+    @Override
+    public String name() {
+        return "cholesky";
+    }
+
+    @Override
+    public double[] solve(double[][] a, double[] b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        if (a.length == 0 || b.length != a.length) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        if (assumeSymmetric || CholeskyFactorization.isSymmetric(a)) {
+            CholeskyFactorization cholesky = new CholeskyFactorization(a);
+            cholesky.factorize();
+            if (cholesky.isPositiveDefinite()) {
+                return cholesky.solve(b);
+            }
+        }
+        return new BlockedLuSolver().solve(a, b);
+    }
+
+    @Override
+    public double[][] solveMany(double[][] a, double[][] rhs) {
+        if (a == null || rhs == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        if (a.length == 0) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        if (assumeSymmetric || CholeskyFactorization.isSymmetric(a)) {
+            CholeskyFactorization cholesky = new CholeskyFactorization(a);
+            cholesky.factorize();
+            if (cholesky.isPositiveDefinite()) {
+                return cholesky.solveMany(rhs);
+            }
+        }
+        return new BlockedLuSolver().solveMany(a, rhs);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.DenseMatrix;
+
+/**
+ * Estado de un gradiente conjugado con precondicionador de Jacobi (diag(A)⁻¹) para A simétrica definida positiva.
+ * Como {@link LuFactorization}, puede avanzarse de a una iteración y no reserva memoria después de construido.
+ */
+public final class ConjugateGradient {
+
+    private final Kernels kernels = Kernels.active();
+    private final int n;
+    private final DenseMatrix a;
+    private final double[] inverseDiagonal;
+    private final double[] x;
+    private final double[] r;
+    private final double[] z;
+    private final double[] p;
+    private final double[] ap;
+    private final double bNorm;
+    private final double tolerance;
+    private final int maxIterations;
+    private double rz;
+    private double residualNorm;
+    private int iterations;
+
+    public ConjugateGradient(double[][] a, double[] b, double tolerance, int maxIterations) {
+        this(a == null ? null : DenseMatrix.of(a), b, tolerance, maxIterations);
+    }
+
+    /** A no se copia: CG solo la lee. */
+    public ConjugateGradient(DenseMatrix a, double[] b, double tolerance, int maxIterations) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        this.n = a.size();
+        if (b.length != n) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        this.a = a;
+        this.inverseDiagonal = new double[n];
+        for (int i = 0; i < n; i++) {
+            double diagonal = a.get(i, i);
+            if (diagonal <= 0.0) {
+                throw new IllegalArgumentException("La matriz no es simétrica definida positiva");
+            }
+            inverseDiagonal[i] = 1.0 / diagonal;
+        }
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+        this.x = new double[n];
+        this.r = b.clone();
+        this.z = new double[n];
+        this.p = new double[n];
+        this.ap = new double[n];
+        this.bNorm = Math.sqrt(kernels.dot(b, 0, b, 0, n));
+        for (int i = 0; i < n; i++) {
+            z[i] = inverseDiagonal[i] * r[i];
+        }
+        System.arraycopy(z, 0, p, 0, n);
+        this.rz = kernels.dot(r, 0, z, 0, n);
+        this.residualNorm = bNorm;
+    }
+
+    public boolean isConverged() {
+        return residualNorm <= tolerance * bNorm;
+    }
+
+    public boolean isComplete() {
+        return isConverged() || iterations >= maxIterations;
+    }
+
+    /**
+     * Ejecuta una iteración de CG.
+     * @return true si todavía no se alcanzó la tolerancia ni el tope de iteraciones.
+     */
+    public boolean iterate() {
+        if (isComplete()) {
+            return false;
+        }
+        a.multiply(kernels, p, ap);
+        double pAp = kernels.dot(p, 0, ap, 0, n);
+        if (pAp <= 0.0) {
+            throw new IllegalArgumentException("La matriz no es simétrica definida positiva");
+        }
+        double alpha = rz / pAp;
+        kernels.axpy(alpha, p, 0, x, 0, n);
+        kernels.axpy(-alpha, ap, 0, r, 0, n);
+        residualNorm = Math.sqrt(kernels.dot(r, 0, r, 0, n));
+        iterations++;
+        if (isConverged()) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            z[i] = inverseDiagonal[i] * r[i];
+        }
+        double rzNext = kernels.dot(r, 0, z, 0, n);
+        double beta = rzNext / rz;
+        rz = rzNext;
+        for (int i = 0; i < n; i++) {
+            p[i] = z[i] + beta * p[i];
+        }
+        return iterations < maxIterations;
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    public double relativeResidual() {
+        return bNorm == 0.0 ? residualNorm : residualNorm / bNorm;
+    }
+
+    /** Copia la aproximación actual en {@code out}. */
+    public void copySolution(double[] out) {
+        System.arraycopy(x, 0, out, 0, n);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.DenseMatrix;
+
+public class ConjugateGradientSolver implements Solver {
+
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+
+    private final double tolerance;
+    private final int maxIterations;
+
+    public ConjugateGradientSolver() {
+        this(DEFAULT_TOLERANCE, 0);
+    }
+
+    /**
+     * @param tolerance     tolerancia sobre el residual relativo ‖b − A·x‖ / ‖b‖.
+     * @param maxIterations tope de iteraciones; 0 usa {@link #defaultMaxIterations(int)}.
+     */
+    public ConjugateGradientSolver(double tolerance, int maxIterations) {
+        if (tolerance <= 0.0 || maxIterations < 0) {
+            throw new IllegalArgumentException("Tolerancia o tope de iteraciones inválidos");
+        }
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    public static int defaultMaxIterations(int size) {
+        return Math.max(50, 2 * size);
+    }
+
+    @Override
+    public String name() {
+        return "cg";
+    }
+
+    @Override
+    public double[] solve(double[][] a, double[] b) {
+        return solveWithStats(a, b).solution();
+    }
+
+    @Override
+    public double[] solve(DenseMatrix a, double[] b) {
+        return solveWithStats(start(a, b), b).solution();
+    }
+
+    public Outcome solveWithStats(double[][] a, double[] b) {
+        return solveWithStats(start(a, b), b);
+    }
+
+    private Outcome solveWithStats(ConjugateGradient cg, double[] b) {
+        while (!cg.isComplete()) {
+            cg.iterate();
+        }
+        if (!cg.isConverged()) {
+            throw new IllegalArgumentException(String.format(
+                    "CG no convergió en %d iteraciones (residual relativo %.3e)", cg.iterations(), cg.relativeResidual()));
+        }
+        double[] x = new double[b.length];
+        cg.copySolution(x);
+        return new Outcome(x, cg.iterations(), cg.relativeResidual());
+    }
+
+    public ConjugateGradient start(double[][] a, double[] b) {
+        int cap = maxIterations > 0 ? maxIterations : defaultMaxIterations(a == null ? 0 : a.length);
+        return new ConjugateGradient(a, b, tolerance, cap);
+    }
+
+    public ConjugateGradient start(DenseMatrix a, double[] b) {
+        int cap = maxIterations > 0 ? maxIterations : defaultMaxIterations(a == null ? 0 : a.size());
+        return new ConjugateGradient(a, b, tolerance, cap);
+    }
+
+    public record Outcome(double[] solution, int iterations, double relativeResidual) {}
+}
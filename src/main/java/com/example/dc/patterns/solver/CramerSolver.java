@@ -1,19 +1,91 @@
 package com.example.dc.patterns.solver;
 
+import com.example.dc.domain.DenseMatrix;
+
 import java.util.Arrays;
 
 public class CramerSolver implements Solver {
 
     private static final double EPS = 1e-12;
 
+    public enum Mode {
+        /** Un determinante por eliminación independiente para cada numerador: O(n⁴). */
+        CLASSIC,
+        /** Una sola factorización LU de A compartida por todos los numeradores: O(n³). */
+        FACTORIZED
+    }
+
+    private final Mode mode;
+    private final Kernels kernels = Kernels.active();
+
+    public CramerSolver() {
+        this(Mode.FACTORIZED);
+    }
+
+    public CramerSolver(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
     @Override
     public String name() {
-        return "cramer";
+        return mode == Mode.CLASSIC ? "cramer-classic" : "cramer";
     }
 
     @Override
     public double[] solve(double[][] a, double[] b) {
         validate(a, b);
+        return mode == Mode.CLASSIC ? solveClassic(a, b) : solveFactorized(a, b);
+    }
+
+    /**
+     * En modo factorizado todos los vectores comparten la LU de A; en modo clásico se resuelve cada uno por separado.
+     */
+    @Override
+    public double[][] solveMany(double[][] a, double[][] rhs) {
+        if (mode == Mode.CLASSIC) {
+            return Solver.super.solveMany(a, rhs);
+        }
+        if (a == null || rhs == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        return factor(a).solveMany(rhs);
+    }
+
+    @Override
+    public double[][] solveMany(DenseMatrix a, double[][] rhs) {
+        if (mode == Mode.CLASSIC) {
+            return Solver.super.solveMany(a, rhs);
+        }
+        if (a == null || rhs == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        return checked(LuFactorization.factor(a)).solveMany(rhs);
+    }
+
+    private double[] solveFactorized(double[][] a, double[] b) {
+        LuFactorization lu = factor(a);
+        // Lema del determinante: A_i = A + (b - A·e_i)·e_iᵀ, luego det(A_i) = det(A)·(1 + e_iᵀ·A⁻¹·(b - A·e_i))
+        // = det(A)·y_i con y = A⁻¹·b. El cociente det(A_i)/det(A) se toma directamente de y para no
+        // desbordar el producto de pivotes cuando n es grande.
+        return lu.solve(b);
+    }
+
+    private LuFactorization factor(double[][] a) {
+        return checked(LuFactorization.factor(a));
+    }
+
+    private LuFactorization checked(LuFactorization lu) {
+        if (Math.abs(lu.determinant()) < EPS) {
+            throw new IllegalArgumentException("Determinante demasiado pequeño para resolver con Cramer");
+        }
+        return lu;
+    }
+
+    private double[] solveClassic(double[][] a, double[] b) {
         double detA = determinant(a);
         if (Math.abs(detA) < EPS) {
             throw new IllegalArgumentException("Determinante demasiado pequeño para resolver con Cramer");
@@ -76,9 +148,7 @@ public class CramerSolver implements Solver {
             double pivotValue = m[i][i];
             for (int j = i + 1; j < n; j++) {
                 double factor = m[j][i] / pivotValue;
-                for (int k = i; k < n; k++) {
-                    m[j][k] -= factor * m[i][k];
-                }
+                kernels.axpy(-factor, m[i], i, m[j], i, n - i);
             }
         }
         return det;
@@ -0,0 +1,75 @@
+package com.example.dc.patterns.solver;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU de factorizaciones terminadas ({@link LuFactorization}, {@link CholeskyFactorization},
+ * {@link SparseLuFactorization}), indexada por la huella de A ({@code CircuitSpec#fingerprint()}) y el tipo de
+ * factorización: Cramer y la LU por bloques comparten la misma LU con pivoteo parcial. La huella solo ubica la
+ * entrada; cada entrada guarda la A de la que salió y un acierto exige que sea igual a la pedida, porque la huella
+ * no es resistente a colisiones y con otra A se devolverían soluciones de otro sistema.
+ * Se acota por memoria: al superar la capacidad se descartan las menos usadas. Las factorizaciones completas solo
+ * se leen al resolver, así que pueden compartirse entre hilos.
+ */
+public final class FactorizationCache {
+
+    private final long capacityBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public FactorizationCache(long capacityBytes) {
+        this.capacityBytes = Math.max(0L, capacityBytes);
+    }
+
+    /** @param source A inmutable ({@code DenseMatrix} o {@code CsrMatrix}); se compara con {@code equals}. */
+    public synchronized <T> T get(long fingerprint, Object source, String kind, Class<T> type) {
+        Entry entry = entries.get(new Key(fingerprint, kind));
+        if (entry == null || !entry.source().equals(source) || !type.isInstance(entry.factorization())) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return type.cast(entry.factorization());
+    }
+
+    /**
+     * @param source A de la que salió la factorización; queda retenida por la entrada.
+     * @param bytes  memoria de la factorización más la de {@code source}.
+     */
+    public synchronized void put(long fingerprint, Object source, String kind, Object factorization, long bytes) {
+        if (bytes > capacityBytes) {
+            return;
+        }
+        Entry previous = entries.put(new Key(fingerprint, kind), new Entry(source, factorization, bytes));
+        if (previous != null) {
+            usedBytes -= previous.bytes();
+        }
+        usedBytes += bytes;
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes > capacityBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().bytes();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0L;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size(), usedBytes, capacityBytes);
+    }
+
+    public record Stats(long hits, long misses, long evictions, int entries, long usedBytes, long capacityBytes) {}
+
+    private record Key(long fingerprint, String kind) {}
+
+    private record Entry(Object source, Object factorization, long bytes) {}
+}
@@ -0,0 +1,199 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.DenseMatrix;
+
+/**
+ * Factorización PA = LU en precisión simple sobre un buffer plano {@code float[]} row-major, con el mismo esquema
+ * right-looking por bloques que {@link LuFactorization}. Ocupa la mitad de memoria y de ancho de banda que la
+ * versión en double; {@link MixedPrecisionRefinement} recupera la precisión completa refinando en double.
+ */
+public final class FloatLuFactorization {
+
+    private static final float EPS = 1e-20f;
+    /** Mismo tamaño en bytes que los mosaicos de {@link LuFactorization}: 64×512 floats = 128 KB. */
+    private static final int TILE_COLUMNS = 512;
+
+    private final Kernels kernels = Kernels.active();
+    private final int n;
+    private final float[] lu;
+    private final int[] pivot;
+    private int step = 0;
+    private boolean singular;
+
+    /**
+     * @throws IllegalArgumentException si A no es cuadrada.
+     */
+    public FloatLuFactorization(double[][] a) {
+        this(DenseMatrix.of(a));
+    }
+
+    public FloatLuFactorization(DenseMatrix a) {
+        if (a == null) {
+            throw new IllegalArgumentException("A no puede ser nula");
+        }
+        this.n = a.size();
+        this.lu = new float[n * n];
+        this.pivot = new int[n];
+        for (int i = 0; i < n; i++) {
+            int rowOffset = i * n;
+            for (int j = 0; j < n; j++) {
+                float value = (float) a.get(i, j);
+                if (Float.isInfinite(value)) {
+                    // fuera del rango de float: no se puede factorizar en simple precisión
+                    singular = true;
+                }
+                lu[rowOffset + j] = value;
+            }
+            pivot[i] = i;
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public boolean isComplete() {
+        return singular || step >= n;
+    }
+
+    /** También queda marcada si A no entra en el rango de float o si un pivote se anula en simple precisión. */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    public void factorizeBlocked(int blockSize) {
+        while (!isComplete()) {
+            advanceBlock(blockSize);
+        }
+    }
+
+    /**
+     * @return true si quedan columnas por eliminar.
+     */
+    public boolean advanceBlock(int blockSize) {
+        if (isComplete()) {
+            return false;
+        }
+        int kb = step;
+        int end = Math.min(n, kb + Math.max(1, blockSize));
+        for (int k = kb; k < end; k++) {
+            if (!eliminatePanelColumn(k, end)) {
+                singular = true;
+                return false;
+            }
+        }
+        solveUpperBlock(kb, end);
+        int trailingRowCost = 2 * (end - kb) * (n - end);
+        if (ParallelRows.enabled(n)) {
+            ParallelRows.forRange(end, n, trailingRowCost, (from, to) -> updateTrailing(kb, end, from, to));
+        } else {
+            updateTrailing(kb, end, end, n);
+        }
+        step = end;
+        return step < n;
+    }
+
+    /**
+     * Resuelve A·x = b con los factores en float pero acumulando en double; {@code out} no puede ser {@code b}.
+     */
+    public void solve(double[] b, double[] out) {
+        if (!isComplete()) {
+            throw new IllegalStateException("La factorización LU no terminó");
+        }
+        if (singular) {
+            throw new IllegalArgumentException("Sistema singular o mal condicionado");
+        }
+        for (int i = 0; i < n; i++) {
+            int rowOffset = i * n;
+            double sum = b[pivot[i]];
+            for (int j = 0; j < i; j++) {
+                sum -= lu[rowOffset + j] * out[j];
+            }
+            out[i] = sum;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int rowOffset = i * n;
+            double sum = out[i];
+            for (int j = i + 1; j < n; j++) {
+                sum -= lu[rowOffset + j] * out[j];
+            }
+            out[i] = sum / lu[rowOffset + i];
+        }
+    }
+
+    private boolean eliminatePanelColumn(int k, int panelEnd) {
+        int pivotRow = k;
+        float max = Math.abs(lu[k * n + k]);
+        for (int row = k + 1; row < n; row++) {
+            float candidate = Math.abs(lu[row * n + k]);
+            if (candidate > max) {
+                max = candidate;
+                pivotRow = row;
+            }
+        }
+        if (max < EPS || Float.isNaN(max)) {
+            return false;
+        }
+        if (pivotRow != k) {
+            swapRows(pivotRow, k);
+        }
+        int pivotOffset = k * n;
+        float pivotValue = lu[pivotOffset + k];
+        for (int row = k + 1; row < n; row++) {
+            int rowOffset = row * n;
+            float factor = lu[rowOffset + k] / pivotValue;
+            lu[rowOffset + k] = factor;
+            if (factor == 0.0f) {
+                continue;
+            }
+            axpy(-factor, pivotOffset + k + 1, rowOffset + k + 1, panelEnd - k - 1);
+        }
+        return true;
+    }
+
+    private void solveUpperBlock(int kb, int end) {
+        for (int i = kb + 1; i < end; i++) {
+            int rowOffset = i * n;
+            for (int p = kb; p < i; p++) {
+                float factor = lu[rowOffset + p];
+                if (factor == 0.0f) {
+                    continue;
+                }
+                axpy(-factor, p * n + end, rowOffset + end, n - end);
+            }
+        }
+    }
+
+    private void updateTrailing(int kb, int end, int rowStart, int rowEnd) {
+        for (int tile = end; tile < n; tile += TILE_COLUMNS) {
+            int tileEnd = Math.min(n, tile + TILE_COLUMNS);
+            for (int row = rowStart; row < rowEnd; row++) {
+                int rowOffset = row * n;
+                for (int p = kb; p < end; p++) {
+                    float factor = lu[rowOffset + p];
+                    if (factor == 0.0f) {
+                        continue;
+                    }
+                    axpy(-factor, p * n + tile, rowOffset + tile, tileEnd - tile);
+                }
+            }
+        }
+    }
+
+    private void axpy(float alpha, int xOffset, int yOffset, int length) {
+        kernels.axpy(alpha, lu, xOffset, lu, yOffset, length);
+    }
+
+    private void swapRows(int i, int j) {
+        int offsetI = i * n;
+        int offsetJ = j * n;
+        for (int col = 0; col < n; col++) {
+            float tmp = lu[offsetI + col];
+            lu[offsetI + col] = lu[offsetJ + col];
+            lu[offsetJ + col] = tmp;
+        }
+        int tmpPivot = pivot[i];
+        pivot[i] = pivot[j];
+        pivot[j] = tmpPivot;
+    }
+}
@@ -4,6 +4,8 @@ public class GaussJordanSolver implements Solver {
 
     private static final double EPS = 1e-12;
 
+    private final Kernels kernels = Kernels.active();
+
     @Override
     public String name() {
         return "gauss-jordan";
@@ -18,7 +20,20 @@ public class GaussJordanSolver implements Solver {
         if (n == 0 || b.length != n) {
             throw new IllegalArgumentException("Dimensiones inválidas");
         }
-        double[][] augmented = buildAugmentedMatrix(a, b);
+        return solveMany(a, new double[][]{b})[0];
+    }
+
+    /** Aumenta A con todos los vectores a la vez, así la eliminación se hace una sola vez. */
+    @Override
+    public double[][] solveMany(double[][] a, double[][] rhs) {
+        if (a == null || rhs == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        int n = a.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        double[][] augmented = buildAugmentedMatrix(a, rhs);
         for (int col = 0; col < n; col++) {
             int pivotRow = findPivot(augmented, col, col);
             if (Math.abs(augmented[pivotRow][col]) < EPS) {
@@ -28,18 +43,25 @@ public class GaussJordanSolver implements Solver {
             normalizeRow(augmented, col, col);
             eliminateColumn(augmented, col, col);
         }
-        return extractSolution(augmented);
+        return extractSolutions(augmented, rhs.length);
     }
 
-    private double[][] buildAugmentedMatrix(double[][] a, double[] b) {
+    private double[][] buildAugmentedMatrix(double[][] a, double[][] rhs) {
         int n = a.length;
-        double[][] augmented = new double[n][n + 1];
+        for (double[] b : rhs) {
+            if (b == null || b.length != n) {
+                throw new IllegalArgumentException("Dimensiones inválidas");
+            }
+        }
+        double[][] augmented = new double[n][n + rhs.length];
         for (int i = 0; i < n; i++) {
             if (a[i].length != n) {
                 throw new IllegalArgumentException("La matriz A debe ser cuadrada");
             }
             System.arraycopy(a[i], 0, augmented[i], 0, n);
-            augmented[i][n] = b[i];
+            for (int c = 0; c < rhs.length; c++) {
+                augmented[i][n + c] = rhs[c][i];
+            }
         }
         return augmented;
     }
@@ -66,34 +88,43 @@ public class GaussJordanSolver implements Solver {
     private void normalizeRow(double[][] matrix, int row, int pivotColumn) {
         int cols = matrix[row].length;
         double pivot = matrix[row][pivotColumn];
-        for (int col = 0; col < cols; col++) {
-            matrix[row][col] /= pivot;
-        }
+        kernels.divide(pivot, matrix[row], 0, cols);
     }
 
     private void eliminateColumn(double[][] matrix, int pivotRow, int pivotColumn) {
         int rows = matrix.length;
         int cols = matrix[pivotRow].length;
-        for (int row = 0; row < rows; row++) {
+        if (ParallelRows.enabled(rows)) {
+            ParallelRows.forRange(0, rows, 2 * cols, (from, to) -> eliminateRows(matrix, pivotRow, pivotColumn, from, to));
+        } else {
+            eliminateRows(matrix, pivotRow, pivotColumn, 0, rows);
+        }
+    }
+
+    private void eliminateRows(double[][] matrix, int pivotRow, int pivotColumn, int fromRow, int toRow) {
+        int cols = matrix[pivotRow].length;
+        double[] pivot = matrix[pivotRow];
+        for (int row = fromRow; row < toRow; row++) {
             if (row == pivotRow) {
                 continue;
             }
-            double factor = matrix[row][pivotColumn];
+            double[] target = matrix[row];
+            double factor = target[pivotColumn];
             if (Math.abs(factor) < EPS) {
                 continue;
             }
-            for (int col = 0; col < cols; col++) {
-                matrix[row][col] -= factor * matrix[pivotRow][col];
-            }
+            kernels.axpy(-factor, pivot, 0, target, 0, cols);
         }
     }
 
-    private double[] extractSolution(double[][] augmented) {
+    private double[][] extractSolutions(double[][] augmented, int count) {
         int n = augmented.length;
-        double[] solution = new double[n];
+        double[][] solutions = new double[count][n];
         for (int i = 0; i < n; i++) {
-            solution[i] = augmented[i][n];
+            for (int c = 0; c < count; c++) {
+                solutions[c][i] = augmented[i][n + c];
+            }
         }
-        return solution;
+        return solutions;
     }
 }
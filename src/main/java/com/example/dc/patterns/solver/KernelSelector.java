@@ -0,0 +1,31 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.utils.Config;
+
+final class KernelSelector {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    static final Kernels ACTIVE = select();
+
+    private KernelSelector() {}
+
+    private static Kernels select() {
+        if (!Config.simdRequested()) {
+            return new ScalarKernels();
+        }
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            System.err.printf("WARN simd solicitado pero falta --add-modules %s; se usan núcleos escalares%n", VECTOR_MODULE);
+            return new ScalarKernels();
+        }
+        try {
+            // carga reflexiva: SimdKernels no puede resolverse sin el módulo incubador
+            return (Kernels) Class.forName("com.example.dc.patterns.solver.SimdKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.printf("WARN no se pudieron cargar núcleos simd (%s); se usan núcleos escalares%n", e);
+            return new ScalarKernels();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.dc.patterns.solver;
+
+/**
+ * Núcleos de los bucles internos (axpy, producto punto, escalado y división de filas). La implementación activa se elige
+ * una sola vez al arrancar: {@link SimdKernels} si se pidió con {@code -Ddc.simd=vector} / {@code DC_SIMD=vector}
+ * y el módulo {@code jdk.incubator.vector} está cargado, {@link ScalarKernels} en cualquier otro caso.
+ * <p>
+ * axpy, scale y divide redondean igual en ambas implementaciones (una operación por paso y elemento); dot reordena
+ * la suma por carriles, por lo que difiere del escalar en a lo sumo {@link #DOT_RELATIVE_TOLERANCE}·Σ|x_i·y_i|.
+ */
+public interface Kernels {
+
+    double DOT_RELATIVE_TOLERANCE = 1e-12;
+
+    String name();
+
+    /** y[yOffset + i] += alpha · x[xOffset + i] para i en [0, length). */
+    void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /** Variante en precisión simple para {@link FloatLuFactorization}: con SIMD procesa el doble de carriles. */
+    void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length);
+
+    double dot(double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /** x[offset + i] *= alpha para i en [0, length). */
+    void scale(double alpha, double[] x, int offset, int length);
+
+    /** x[offset + i] /= divisor para i en [0, length); no redondea igual que scale(1 / divisor). */
+    void divide(double divisor, double[] x, int offset, int length);
+
+    static Kernels active() {
+        return KernelSelector.ACTIVE;
+    }
+}
@@ -18,4 +18,15 @@ public class LibrarySolver implements Solver {
         DecompositionSolver solver = new LUDecomposition(matrix).getSolver();
         return solver.solve(new ArrayRealVector(b, false)).toArray();
     }
+
+    @Override
+    public double[][] solveMany(double[][] a, double[][] rhs) {
+        RealMatrix matrix = new Array2DRowRealMatrix(a, false);
+        DecompositionSolver solver = new LUDecomposition(matrix).getSolver();
+        double[][] solutions = new double[rhs.length][];
+        for (int c = 0; c < rhs.length; c++) {
+            solutions[c] = solver.solve(new ArrayRealVector(rhs[c], false)).toArray();
+        }
+        return solutions;
+    }
 }
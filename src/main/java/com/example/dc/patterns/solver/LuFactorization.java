@@ -0,0 +1,316 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.DenseMatrix;
+
+/**
+ * Factorización PA = LU con pivoteo parcial sobre un buffer plano row-major.
+ * Puede avanzarse columna a columna ({@link #advance()}) o por bloques de columnas ({@link #advanceBlock(int)})
+ * para repartirla entre pasos de un StepRunner; una vez construida, ni el avance ni
+ * {@link #solve(double[], double[])} reservan memoria.
+ */
+public final class LuFactorization {
+
+    private static final double EPS = 1e-12;
+    /** Ancho de columnas de la actualización del bloque restante: un bloque de U12 de 64×256 doubles ocupa 128 KB (L2). */
+    private static final int TILE_COLUMNS = 256;
+
+    private final Kernels kernels = Kernels.active();
+    private final int n;
+    private final double[] lu;
+    private final int[] pivot;
+    private int sign = 1;
+    private int step = 0;
+    private boolean singular;
+
+    public LuFactorization(double[][] a) {
+        if (a == null) {
+            throw new IllegalArgumentException("A no puede ser nula");
+        }
+        this.n = a.length;
+        this.lu = new double[n * n];
+        this.pivot = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (a[i] == null || a[i].length != n) {
+                throw new IllegalArgumentException("La matriz A debe ser cuadrada");
+            }
+            System.arraycopy(a[i], 0, lu, i * n, n);
+            pivot[i] = i;
+        }
+    }
+
+    /** Copia A de una sola vez; la factorización trabaja sobre la copia. */
+    public LuFactorization(DenseMatrix a) {
+        if (a == null) {
+            throw new IllegalArgumentException("A no puede ser nula");
+        }
+        this.n = a.size();
+        this.lu = new double[n * n];
+        this.pivot = new int[n];
+        a.copyTo(lu, 0);
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+    }
+
+    public static LuFactorization factor(double[][] a) {
+        LuFactorization factorization = new LuFactorization(a);
+        factorization.factorize();
+        return factorization;
+    }
+
+    public static LuFactorization factor(DenseMatrix a) {
+        LuFactorization factorization = new LuFactorization(a);
+        factorization.factorize();
+        return factorization;
+    }
+
+    public static LuFactorization factorBlocked(double[][] a, int blockSize) {
+        LuFactorization factorization = new LuFactorization(a);
+        factorization.factorizeBlocked(blockSize);
+        return factorization;
+    }
+
+    public static LuFactorization factorBlocked(DenseMatrix a, int blockSize) {
+        LuFactorization factorization = new LuFactorization(a);
+        factorization.factorizeBlocked(blockSize);
+        return factorization;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public boolean isComplete() {
+        return singular || step >= n;
+    }
+
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /** Memoria aproximada que retiene la factorización, para la caché de factorizaciones. */
+    public long memoryBytes() {
+        return (long) n * n * Double.BYTES + (long) n * Integer.BYTES;
+    }
+
+    public void factorize() {
+        while (!isComplete()) {
+            advance();
+        }
+    }
+
+    public void factorizeBlocked(int blockSize) {
+        while (!isComplete()) {
+            advanceBlock(blockSize);
+        }
+    }
+
+    /**
+     * Paso right-looking por bloques: factoriza el panel de {@code blockSize} columnas con pivoteo parcial,
+     * resuelve el bloque U12 y aplica A22 -= L21·U12 al resto de la matriz recorriendo U12 por mosaicos.
+     * @return true si quedan columnas por eliminar.
+     */
+    public boolean advanceBlock(int blockSize) {
+        if (isComplete()) {
+            return false;
+        }
+        int kb = step;
+        int end = Math.min(n, kb + Math.max(1, blockSize));
+        for (int k = kb; k < end; k++) {
+            if (!eliminatePanelColumn(k, end)) {
+                singular = true;
+                return false;
+            }
+        }
+        solveUpperBlock(kb, end);
+        int trailingRowCost = 2 * (end - kb) * (n - end);
+        if (ParallelRows.enabled(n)) {
+            ParallelRows.forRange(end, n, trailingRowCost, (from, to) -> updateTrailing(kb, end, from, to));
+        } else {
+            updateTrailing(kb, end, end, n);
+        }
+        step = end;
+        return step < n;
+    }
+
+    /**
+     * Elimina la siguiente columna pivote.
+     * @return true si quedan columnas por eliminar.
+     */
+    public boolean advance() {
+        if (isComplete()) {
+            return false;
+        }
+        if (!eliminatePanelColumn(step, n)) {
+            singular = true;
+            return false;
+        }
+        step++;
+        return step < n;
+    }
+
+    public double determinant() {
+        if (singular) {
+            return 0.0;
+        }
+        requireComplete();
+        double det = sign;
+        for (int i = 0; i < n; i++) {
+            det *= lu[i * n + i];
+        }
+        return det;
+    }
+
+    /**
+     * Resuelve A·x = b escribiendo x en {@code out}; {@code out} no puede ser el mismo arreglo que {@code b}.
+     */
+    public void solve(double[] b, double[] out) {
+        requireComplete();
+        if (singular) {
+            throw new IllegalArgumentException("Sistema singular o mal condicionado");
+        }
+        if (b.length != n || out.length != n) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        for (int i = 0; i < n; i++) {
+            out[i] = b[pivot[i]] - kernels.dot(lu, i * n, out, 0, i);
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int rowOffset = i * n;
+            double sum = out[i] - kernels.dot(lu, rowOffset + i + 1, out, i + 1, n - i - 1);
+            out[i] = sum / lu[rowOffset + i];
+        }
+    }
+
+    public double[] solve(double[] b) {
+        double[] x = new double[n];
+        solve(b, x);
+        return x;
+    }
+
+    /**
+     * Resuelve A·X = B para todos los vectores de {@code rhs} a la vez: las columnas de B se guardan juntas por
+     * fila, de modo que cada fila de L y U se lee una sola vez y se aplica con un axpy de largo k.
+     */
+    public double[][] solveMany(double[][] rhs) {
+        requireComplete();
+        if (singular) {
+            throw new IllegalArgumentException("Sistema singular o mal condicionado");
+        }
+        int k = rhs.length;
+        double[] x = new double[n * k];
+        for (int c = 0; c < k; c++) {
+            if (rhs[c] == null || rhs[c].length != n) {
+                throw new IllegalArgumentException("Dimensiones inválidas");
+            }
+            for (int i = 0; i < n; i++) {
+                x[i * k + c] = rhs[c][pivot[i]];
+            }
+        }
+        for (int i = 1; i < n; i++) {
+            int rowOffset = i * n;
+            for (int p = 0; p < i; p++) {
+                double factor = lu[rowOffset + p];
+                if (factor != 0.0) {
+                    kernels.axpy(-factor, x, p * k, x, i * k, k);
+                }
+            }
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int rowOffset = i * n;
+            for (int p = i + 1; p < n; p++) {
+                double factor = lu[rowOffset + p];
+                if (factor != 0.0) {
+                    kernels.axpy(-factor, x, p * k, x, i * k, k);
+                }
+            }
+            kernels.divide(lu[rowOffset + i], x, i * k, k);
+        }
+        double[][] solutions = new double[k][n];
+        for (int i = 0; i < n; i++) {
+            for (int c = 0; c < k; c++) {
+                solutions[c][i] = x[i * k + c];
+            }
+        }
+        return solutions;
+    }
+
+    private boolean eliminatePanelColumn(int k, int panelEnd) {
+        int pivotRow = k;
+        double max = Math.abs(lu[k * n + k]);
+        for (int row = k + 1; row < n; row++) {
+            double candidate = Math.abs(lu[row * n + k]);
+            if (candidate > max) {
+                max = candidate;
+                pivotRow = row;
+            }
+        }
+        if (max < EPS) {
+            return false;
+        }
+        if (pivotRow != k) {
+            swapRows(pivotRow, k);
+        }
+        int pivotOffset = k * n;
+        double pivotValue = lu[pivotOffset + k];
+        for (int row = k + 1; row < n; row++) {
+            int rowOffset = row * n;
+            double factor = lu[rowOffset + k] / pivotValue;
+            lu[rowOffset + k] = factor;
+            if (factor == 0.0) {
+                continue;
+            }
+            kernels.axpy(-factor, lu, pivotOffset + k + 1, lu, rowOffset + k + 1, panelEnd - k - 1);
+        }
+        return true;
+    }
+
+    private void solveUpperBlock(int kb, int end) {
+        for (int i = kb + 1; i < end; i++) {
+            int rowOffset = i * n;
+            for (int p = kb; p < i; p++) {
+                double factor = lu[rowOffset + p];
+                if (factor == 0.0) {
+                    continue;
+                }
+                kernels.axpy(-factor, lu, p * n + end, lu, rowOffset + end, n - end);
+            }
+        }
+    }
+
+    private void updateTrailing(int kb, int end, int rowStart, int rowEnd) {
+        for (int tile = end; tile < n; tile += TILE_COLUMNS) {
+            int tileEnd = Math.min(n, tile + TILE_COLUMNS);
+            for (int row = rowStart; row < rowEnd; row++) {
+                int rowOffset = row * n;
+                for (int p = kb; p < end; p++) {
+                    double factor = lu[rowOffset + p];
+                    if (factor == 0.0) {
+                        continue;
+                    }
+                    kernels.axpy(-factor, lu, p * n + tile, lu, rowOffset + tile, tileEnd - tile);
+                }
+            }
+        }
+    }
+
+    private void requireComplete() {
+        if (!isComplete()) {
+            throw new IllegalStateException("La factorización LU no terminó");
+        }
+    }
+
+    private void swapRows(int i, int j) {
+        int offsetI = i * n;
+        int offsetJ = j * n;
+        for (int col = 0; col < n; col++) {
+            double tmp = lu[offsetI + col];
+            lu[offsetI + col] = lu[offsetJ + col];
+            lu[offsetJ + col] = tmp;
+        }
+        int tmpPivot = pivot[i];
+        pivot[i] = pivot[j];
+        pivot[j] = tmpPivot;
+        sign = -sign;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.DenseMatrix;
+
+/**
+ * Refinamiento iterativo en precisión mixta (como dsgesv de LAPACK): factoriza A en float con
+ * {@link FloatLuFactorization} y corrige x en double con r = b − A·x, d = (LU)⁻¹·r, x += d hasta que
+ * ‖r‖∞ ≤ ‖x‖∞·‖A‖∞·ε·√n, el error hacia atrás que alcanza una LU en double. Si la factorización en float falla o
+ * el refinamiento no converge en {@link #MAX_REFINEMENT_STEPS} pasos (o deja de reducir el residual), continúa con
+ * {@link LuFactorization} en double. Como {@link ConjugateGradient}, puede avanzarse de a un paso.
+ */
+public final class MixedPrecisionRefinement {
+
+    public static final int MAX_REFINEMENT_STEPS = 30;
+
+    private static final int BLOCK_SIZE = BlockedLuSolver.DEFAULT_BLOCK_SIZE;
+    private static final double MACHINE_EPSILON = Math.ulp(1.0);
+
+    private final Kernels kernels = Kernels.active();
+    private final DenseMatrix a;
+    private final double[] b;
+    private final int n;
+    private final double tolerance;
+    private final FloatLuFactorization floatLu;
+    private final double[] x;
+    private final double[] ax;
+    private final double[] r;
+    private final double[] correction;
+    private LuFactorization fallback;
+    private double residualNorm = Double.POSITIVE_INFINITY;
+    private int refinementSteps;
+    private boolean complete;
+
+    public MixedPrecisionRefinement(double[][] a, double[] b) {
+        this(a == null ? null : DenseMatrix.of(a), b);
+    }
+
+    /** A no se copia: al ser inmutable se comparte con el resto del pipeline. */
+    public MixedPrecisionRefinement(DenseMatrix a, double[] b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        this.n = a.size();
+        if (n == 0 || b.length != n) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        this.a = a;
+        this.b = b.clone();
+        this.floatLu = new FloatLuFactorization(a);
+        this.x = new double[n];
+        this.ax = new double[n];
+        this.r = new double[n];
+        this.correction = new double[n];
+        this.tolerance = infinityNorm(a) * MACHINE_EPSILON * Math.sqrt(n);
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /** Pasos de refinamiento en double realizados sobre la solución inicial en float. */
+    public int refinementSteps() {
+        return refinementSteps;
+    }
+
+    /** true si hubo que pasar a la factorización en double. */
+    public boolean fellBack() {
+        return fallback != null;
+    }
+
+    /** ‖b − A·x‖₂ de la última solución calculada. */
+    public double residualNorm() {
+        return residualNorm;
+    }
+
+    /**
+     * Avanza un bloque de la factorización en float, un paso de refinamiento o un bloque de la LU en double.
+     * @return true si queda trabajo por hacer.
+     */
+    public boolean advance() {
+        if (complete) {
+            return false;
+        }
+        if (fallback != null) {
+            advanceFallback();
+        } else if (!floatLu.isComplete()) {
+            floatLu.advanceBlock(BLOCK_SIZE);
+            if (floatLu.isComplete()) {
+                if (floatLu.isSingular()) {
+                    startFallback();
+                } else {
+                    floatLu.solve(b, x);
+                    updateResidual();
+                    checkConvergence(Double.POSITIVE_INFINITY);
+                }
+            }
+        } else {
+            double previous = residualNorm;
+            floatLu.solve(r, correction);
+            for (int i = 0; i < n; i++) {
+                x[i] += correction[i];
+            }
+            refinementSteps++;
+            updateResidual();
+            checkConvergence(previous);
+        }
+        return !complete;
+    }
+
+    public void copySolution(double[] out) {
+        System.arraycopy(x, 0, out, 0, n);
+    }
+
+    private void checkConvergence(double previousResidual) {
+        double limit = infinityNorm(x) * tolerance;
+        if (infinityNorm(r) <= limit) {
+            complete = true;
+        } else if (!Double.isFinite(residualNorm) || refinementSteps >= MAX_REFINEMENT_STEPS
+                || residualNorm > 0.5 * previousResidual) {
+            startFallback();
+        }
+    }
+
+    private void updateResidual() {
+        a.multiply(kernels, x, ax);
+        for (int i = 0; i < n; i++) {
+            r[i] = b[i] - ax[i];
+        }
+        residualNorm = Residuals.norm(ax, b);
+    }
+
+    private void startFallback() {
+        fallback = new LuFactorization(a);
+    }
+
+    private void advanceFallback() {
+        fallback.advanceBlock(BLOCK_SIZE);
+        if (fallback.isComplete()) {
+            if (fallback.isSingular()) {
+                throw new IllegalArgumentException("Sistema singular o mal condicionado");
+            }
+            fallback.solve(b, x);
+            updateResidual();
+            complete = true;
+        }
+    }
+
+    private static double infinityNorm(double[] v) {
+        double max = 0.0;
+        for (double value : v) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max;
+    }
+
+    private static double infinityNorm(DenseMatrix a) {
+        int n = a.size();
+        double max = 0.0;
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < n; j++) {
+                sum += Math.abs(a.get(i, j));
+            }
+            max = Math.max(max, sum);
+        }
+        return max;
+    }
+}
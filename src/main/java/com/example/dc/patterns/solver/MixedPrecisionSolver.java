@@ -0,0 +1,44 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.DenseMatrix;
+
+/**
+ * Factoriza en float (mitad de memoria y ancho de banda) y refina en double hasta la precisión de una LU en double;
+ * ver {@link MixedPrecisionRefinement}.
+ */
+public class MixedPrecisionSolver implements Solver {
+
+    @Override
+    public String name() {
+        return "mixed";
+    }
+
+    @Override
+    public double[] solve(double[][] a, double[] b) {
+        return solveWithStats(a, b).solution();
+    }
+
+    @Override
+    public double[] solve(DenseMatrix a, double[] b) {
+        return solveWithStats(new MixedPrecisionRefinement(a, b), b).solution();
+    }
+
+    public Outcome solveWithStats(double[][] a, double[] b) {
+        return solveWithStats(new MixedPrecisionRefinement(a, b), b);
+    }
+
+    private Outcome solveWithStats(MixedPrecisionRefinement refinement, double[] b) {
+        while (!refinement.isComplete()) {
+            refinement.advance();
+        }
+        double[] x = new double[b.length];
+        refinement.copySolution(x);
+        return new Outcome(x, refinement.refinementSteps(), refinement.fellBack(), refinement.residualNorm());
+    }
+
+    /**
+     * @param refinementSteps pasos de refinamiento en double sobre la solución en float.
+     * @param fellBack        true si se resolvió con la LU en double porque el refinamiento no convergió.
+     */
+    public record Outcome(double[] solution, int refinementSteps, boolean fellBack, double residual) {}
+}
@@ -0,0 +1,249 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.OffHeapMatrix;
+
+/**
+ * PA = LU por bloques, como {@link LuFactorization#advanceBlock(int)}, pero con L y U en una copia de A fuera del
+ * heap. Cada bloque pasa por el heap solo lo que está trabajando: el panel de {@code blockSize} columnas, el bloque
+ * U12 y una fila del resto por vez, de modo que el heap usado es O(n·blockSize) y no O(n²).
+ * <p>
+ * {@link #close()} libera la copia nativa; después de cerrada ya no se puede resolver.
+ */
+public final class OffHeapLuFactorization implements AutoCloseable {
+
+    private static final double EPS = 1e-12;
+    private static final int TILE_COLUMNS = 256;
+
+    private final Kernels kernels = Kernels.active();
+    private final int n;
+    private final OffHeapMatrix lu;
+    private final int[] pivot;
+    private double[] panel = new double[0];
+    private double[] upper = new double[0];
+    private int step = 0;
+    private boolean singular;
+
+    /** Copia A fuera del heap; A puede cerrarse después sin afectar la factorización. */
+    public OffHeapLuFactorization(OffHeapMatrix a) {
+        if (a == null) {
+            throw new IllegalArgumentException("A no puede ser nula");
+        }
+        this.n = a.size();
+        this.lu = a.copy();
+        this.pivot = new int[n];
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public boolean isComplete() {
+        return singular || step >= n;
+    }
+
+    public boolean isSingular() {
+        return singular;
+    }
+
+    public void factorizeBlocked(int blockSize) {
+        while (!isComplete()) {
+            advanceBlock(blockSize);
+        }
+    }
+
+    /**
+     * Factoriza el panel [step, step + blockSize) en el heap, resuelve U12 y aplica A22 -= L21·U12 fila por fila.
+     * @return true si quedan columnas por eliminar.
+     */
+    public boolean advanceBlock(int blockSize) {
+        if (isComplete()) {
+            return false;
+        }
+        int kb = step;
+        int end = Math.min(n, kb + Math.max(1, blockSize));
+        int width = end - kb;
+        if (!factorPanel(kb, width)) {
+            singular = true;
+            return false;
+        }
+        int trailing = n - end;
+        if (trailing > 0) {
+            solveUpperBlock(kb, width, trailing);
+            int trailingRowCost = 2 * width * trailing;
+            if (ParallelRows.enabled(n)) {
+                ParallelRows.forRange(end, n, trailingRowCost, (from, to) -> updateTrailing(kb, width, from, to));
+            } else {
+                updateTrailing(kb, width, end, n);
+            }
+        }
+        step = end;
+        return step < n;
+    }
+
+    /**
+     * Resuelve A·x = b escribiendo x en {@code out}; lee L y U de a una fila.
+     */
+    public void solve(double[] b, double[] out) {
+        if (!isComplete()) {
+            throw new IllegalStateException("La factorización LU no terminó");
+        }
+        if (singular) {
+            throw new IllegalArgumentException("Sistema singular o mal condicionado");
+        }
+        if (b.length != n || out.length != n) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        double[] row = new double[n];
+        for (int i = 0; i < n; i++) {
+            lu.copyRow(i, 0, row, 0, i);
+            out[i] = b[pivot[i]] - kernels.dot(row, 0, out, 0, i);
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            lu.copyRow(i, i, row, 0, n - i);
+            out[i] = (out[i] - kernels.dot(row, 1, out, i + 1, n - i - 1)) / row[0];
+        }
+    }
+
+    public double[] solve(double[] b) {
+        double[] x = new double[n];
+        solve(b, x);
+        return x;
+    }
+
+    public double[][] solveMany(double[][] rhs) {
+        double[][] solutions = new double[rhs.length][];
+        for (int c = 0; c < rhs.length; c++) {
+            if (rhs[c] == null) {
+                throw new IllegalArgumentException("Dimensiones inválidas");
+            }
+            solutions[c] = solve(rhs[c]);
+        }
+        return solutions;
+    }
+
+    /** Libera la copia fuera del heap. */
+    @Override
+    public void close() {
+        lu.close();
+    }
+
+    private boolean factorPanel(int kb, int width) {
+        int rows = n - kb;
+        if (panel.length < rows * width) {
+            panel = new double[rows * width];
+        }
+        for (int r = 0; r < rows; r++) {
+            lu.copyRow(kb + r, kb, panel, r * width, width);
+        }
+        int[] swaps = new int[width];
+        for (int c = 0; c < width; c++) {
+            int pivotRow = c;
+            double max = Math.abs(panel[c * width + c]);
+            for (int r = c + 1; r < rows; r++) {
+                double candidate = Math.abs(panel[r * width + c]);
+                if (candidate > max) {
+                    max = candidate;
+                    pivotRow = r;
+                }
+            }
+            if (max < EPS) {
+                return false;
+            }
+            swaps[c] = pivotRow;
+            if (pivotRow != c) {
+                swapPanelRows(c, pivotRow, width);
+                int tmp = pivot[kb + c];
+                pivot[kb + c] = pivot[kb + pivotRow];
+                pivot[kb + pivotRow] = tmp;
+            }
+            double pivotValue = panel[c * width + c];
+            for (int r = c + 1; r < rows; r++) {
+                double factor = panel[r * width + c] / pivotValue;
+                panel[r * width + c] = factor;
+                if (factor != 0.0) {
+                    kernels.axpy(-factor, panel, c * width + c + 1, panel, r * width + c + 1, width - c - 1);
+                }
+            }
+        }
+        for (int r = 0; r < rows; r++) {
+            lu.writeRow(kb + r, kb, panel, r * width, width);
+        }
+        // los intercambios del panel se aplican también a las columnas fuera de él, en el mismo orden
+        double[] first = new double[n];
+        double[] second = new double[n];
+        for (int c = 0; c < width; c++) {
+            if (swaps[c] != c) {
+                swapOutsidePanel(kb + c, kb + swaps[c], kb, kb + width, first, second);
+            }
+        }
+        return true;
+    }
+
+    private void solveUpperBlock(int kb, int width, int trailing) {
+        int end = kb + width;
+        if (upper.length < width * trailing) {
+            upper = new double[width * trailing];
+        }
+        for (int i = 0; i < width; i++) {
+            lu.copyRow(kb + i, end, upper, i * trailing, trailing);
+        }
+        for (int i = 1; i < width; i++) {
+            for (int p = 0; p < i; p++) {
+                double factor = panel[i * width + p];
+                if (factor != 0.0) {
+                    kernels.axpy(-factor, upper, p * trailing, upper, i * trailing, trailing);
+                }
+            }
+        }
+        for (int i = 0; i < width; i++) {
+            lu.writeRow(kb + i, end, upper, i * trailing, trailing);
+        }
+    }
+
+    private void updateTrailing(int kb, int width, int rowStart, int rowEnd) {
+        int end = kb + width;
+        int trailing = n - end;
+        double[] tile = new double[Math.min(TILE_COLUMNS, trailing)];
+        for (int tileStart = 0; tileStart < trailing; tileStart += TILE_COLUMNS) {
+            int tileLength = Math.min(TILE_COLUMNS, trailing - tileStart);
+            for (int row = rowStart; row < rowEnd; row++) {
+                int panelOffset = (row - kb) * width;
+                lu.copyRow(row, end + tileStart, tile, 0, tileLength);
+                for (int p = 0; p < width; p++) {
+                    double factor = panel[panelOffset + p];
+                    if (factor != 0.0) {
+                        kernels.axpy(-factor, upper, p * trailing + tileStart, tile, 0, tileLength);
+                    }
+                }
+                lu.writeRow(row, end + tileStart, tile, 0, tileLength);
+            }
+        }
+    }
+
+    private void swapPanelRows(int i, int j, int width) {
+        for (int c = 0; c < width; c++) {
+            double tmp = panel[i * width + c];
+            panel[i * width + c] = panel[j * width + c];
+            panel[j * width + c] = tmp;
+        }
+    }
+
+    private void swapOutsidePanel(int i, int j, int panelStart, int panelEnd, double[] first, double[] second) {
+        swapRange(i, j, 0, panelStart, first, second);
+        swapRange(i, j, panelEnd, n, first, second);
+    }
+
+    private void swapRange(int i, int j, int from, int to, double[] first, double[] second) {
+        int length = to - from;
+        if (length <= 0) {
+            return;
+        }
+        lu.copyRow(i, from, first, 0, length);
+        lu.copyRow(j, from, second, 0, length);
+        lu.writeRow(i, from, second, 0, length);
+        lu.writeRow(j, from, first, 0, length);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.schedulers.SchedulerExecutor;
+import com.example.dc.utils.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reparte actualizaciones independientes por filas de una misma eliminación entre el hilo que la ejecuta y un
+ * ForkJoinPool. Solo se activa para sistemas de al menos {@link Config#parallelSolveMinSize()} incógnitas; por debajo
+ * el costo de coordinación supera la ganancia.
+ * <p>
+ * Las eliminaciones corren dentro de trabajos de {@link SchedulerExecutor}, así que cada hilo extra del pool se
+ * cuenta contra su cupo: el reparto usa solo los lugares libres en ese momento y, con todos ocupados por otros
+ * trabajos, la eliminación sigue en el hilo actual en vez de sobresuscribir la CPU.
+ */
+public final class ParallelRows {
+
+    /** Operaciones de punto flotante mínimas por tarea. */
+    private static final int MIN_FLOPS_PER_TASK = 32_768;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, Config.parallelism()));
+
+    private ParallelRows() {}
+
+    @FunctionalInterface
+    public interface RowRange {
+        void apply(int fromRow, int toRow);
+    }
+
+    public static boolean enabled(int size) {
+        return Config.parallelism() > 1 && size >= Config.parallelSolveMinSize();
+    }
+
+    /**
+     * Ejecuta {@code body} sobre [from, to) partiendo el rango en tramos de al menos {@code MIN_FLOPS_PER_TASK}
+     * operaciones, uno por hilo disponible; cada fila cuesta aproximadamente {@code rowCost} operaciones.
+     */
+    public static void forRange(int from, int to, int rowCost, RowRange body) {
+        int grain = Math.max(1, MIN_FLOPS_PER_TASK / Math.max(1, rowCost));
+        int tasks = Math.min(Config.parallelism(), (to - from + grain - 1) / grain);
+        int helpers = tasks > 1 ? SchedulerExecutor.tryAcquireSlots(tasks - 1) : 0;
+        if (helpers == 0) {
+            body.apply(from, to);
+            return;
+        }
+        try {
+            int parts = helpers + 1;
+            List<ForkJoinTask<?>> forked = new ArrayList<>(helpers);
+            for (int part = 1; part < parts; part++) {
+                int start = boundary(from, to, part, parts);
+                int end = boundary(from, to, part + 1, parts);
+                forked.add(POOL.submit(() -> body.apply(start, end)));
+            }
+            try {
+                body.apply(from, boundary(from, to, 1, parts));
+            } finally {
+                // los lugares se devuelven recién cuando no queda ningún tramo corriendo
+                forked.forEach(ForkJoinTask::quietlyJoin);
+            }
+            forked.forEach(ForkJoinTask::join);
+        } finally {
+            SchedulerExecutor.releaseSlots(helpers);
+        }
+    }
+
+    private static int boundary(int from, int to, int part, int parts) {
+        return from + (int) ((long) (to - from) * part / parts);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.dc.patterns.solver;
+
+/**
+ * Producto A·x y norma del residual compartidos por el Controller (verificación de resultados) y por los solvers
+ * que iteran sobre el residual, como {@link MixedPrecisionRefinement}.
+ */
+public final class Residuals {
+
+    private Residuals() {
+    }
+
+    /** Escribe A·x en {@code out}; las filas más cortas que x se multiplican solo en su largo. */
+    public static void multiply(Kernels kernels, double[][] a, double[] x, double[] out) {
+        for (int i = 0; i < a.length; i++) {
+            out[i] = kernels.dot(a[i], 0, x, 0, Math.min(a[i].length, x.length));
+        }
+    }
+
+    /** ‖A·x − b‖₂ a partir de A·x ya calculado; las posiciones que faltan en b cuentan como cero. */
+    public static double norm(double[] ax, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < ax.length; i++) {
+            double diff = ax[i] - (i < b.length ? b[i] : 0.0);
+            sum += diff * diff;
+        }
+        return Math.sqrt(sum);
+    }
+}
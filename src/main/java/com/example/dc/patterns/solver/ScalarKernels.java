@@ -0,0 +1,46 @@
+package com.example.dc.patterns.solver;
+
+public final class ScalarKernels implements Kernels {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += alpha * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += alpha * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public double dot(double[] x, int xOffset, double[] y, int yOffset, int length) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += x[xOffset + i] * y[yOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void scale(double alpha, double[] x, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            x[offset + i] *= alpha;
+        }
+    }
+
+    @Override
+    public void divide(double divisor, double[] x, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            x[offset + i] /= divisor;
+        }
+    }
+}
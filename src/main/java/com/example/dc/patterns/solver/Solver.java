@@ -1,6 +1,53 @@
 package com.example.dc.patterns.solver;
 
+import com.example.dc.domain.CsrMatrix;
+import com.example.dc.domain.DenseMatrix;
+
 public interface Solver {
     String name();
     double[] solve(double[][] a, double[] b);
+
+    /** Los solvers densos expanden A; {@link SparseLuSolver} trabaja directamente sobre CSR. */
+    default double[] solve(CsrMatrix a, double[] b) {
+        requireInputs(a, b);
+        return solve(a.toDense(), b);
+    }
+
+    /**
+     * Los solvers que ya trabajan sobre almacenamiento plano lo sobrescriben para no pasar por {@code double[][]}.
+     */
+    default double[] solve(DenseMatrix a, double[] b) {
+        requireInputs(a, b);
+        return solve(a.toArray(), b);
+    }
+
+    /**
+     * Resuelve A·x = b para cada vector de {@code rhs}; devuelve una solución por vector, en el mismo orden.
+     * Los solvers con factorización la calculan una sola vez para todos los vectores.
+     */
+    default double[][] solveMany(double[][] a, double[][] rhs) {
+        requireInputs(a, rhs);
+        double[][] solutions = new double[rhs.length][];
+        for (int c = 0; c < rhs.length; c++) {
+            solutions[c] = solve(a, rhs[c]);
+        }
+        return solutions;
+    }
+
+    default double[][] solveMany(CsrMatrix a, double[][] rhs) {
+        requireInputs(a, rhs);
+        return solveMany(a.toDense(), rhs);
+    }
+
+    default double[][] solveMany(DenseMatrix a, double[][] rhs) {
+        requireInputs(a, rhs);
+        return solveMany(a.toArray(), rhs);
+    }
+
+    /** Validación común de todas las sobrecargas, antes de copiar o factorizar A. */
+    static void requireInputs(Object a, Object rhs) {
+        if (a == null || rhs == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+    }
 }
@@ -0,0 +1,319 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.CsrMatrix;
+
+import java.util.Arrays;
+
+/**
+ * LU disperso left-looking (Gilbert–Peierls) de C = A(q, q), con q el orden de grado mínimo de
+ * {@link SparseOrdering}. Cada columna se obtiene con una resolución triangular dispersa cuyo patrón se
+ * calcula por alcanzabilidad en el grafo de L, y se pivotea por umbral prefiriendo la diagonal para conservar
+ * el orden. Como {@link LuFactorization}, puede avanzarse de a una columna.
+ */
+public final class SparseLuFactorization {
+
+    private static final double EPS = 1e-12;
+    /** Un pivote fuera de la diagonal solo se elige si la diagonal es menor que esta fracción del máximo. */
+    private static final double PIVOT_THRESHOLD = 0.1;
+
+    private final int n;
+    /** A en formato CSC: filas de Aᵀ. */
+    private final CsrMatrix columns;
+    private final int[] perm;
+    private final int[] inversePerm;
+    /** Posición de pivote asignada a cada fila de C, o -1 mientras no fue elegida. */
+    private final int[] pivotOf;
+
+    private final int[] lColumnStart;
+    private int[] lRows;
+    private double[] lValues;
+    private int lSize;
+    private final int[] uColumnStart;
+    private int[] uRows;
+    private double[] uValues;
+    private int uSize;
+
+    private final double[] work;
+    private final int[] pattern;
+    private final int[] stack;
+    private final int[] stackPosition;
+    private final int[] visited;
+    private int step;
+    private boolean singular;
+
+    public SparseLuFactorization(CsrMatrix a) {
+        if (a == null) {
+            throw new IllegalArgumentException("A no puede ser nula");
+        }
+        this.n = a.size();
+        this.columns = a.transpose();
+        this.perm = SparseOrdering.minimumDegree(a);
+        this.inversePerm = SparseOrdering.inverse(perm);
+        this.pivotOf = new int[n];
+        Arrays.fill(pivotOf, -1);
+        int initialCapacity = Math.max(16, 4 * a.nonZeros() + n);
+        this.lColumnStart = new int[n + 1];
+        this.lRows = new int[initialCapacity];
+        this.lValues = new double[initialCapacity];
+        this.uColumnStart = new int[n + 1];
+        this.uRows = new int[initialCapacity];
+        this.uValues = new double[initialCapacity];
+        this.work = new double[n];
+        this.pattern = new int[n];
+        this.stack = new int[n];
+        this.stackPosition = new int[n];
+        this.visited = new int[n];
+    }
+
+    public static SparseLuFactorization factor(CsrMatrix a) {
+        SparseLuFactorization factorization = new SparseLuFactorization(a);
+        factorization.factorize();
+        return factorization;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public boolean isComplete() {
+        return singular || step >= n;
+    }
+
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /** Entradas no nulas de L y U; sirve para medir el relleno del ordenamiento. */
+    public long factorNonZeros() {
+        return (long) lSize + uSize;
+    }
+
+    /** Memoria retenida; al terminar, los arreglos de L y U se recortan a su tamaño justo. */
+    public long memoryBytes() {
+        long factors = (long) (lRows.length + uRows.length) * (Integer.BYTES + Double.BYTES);
+        long columnsBytes = (long) columns.nonZeros() * (Integer.BYTES + Double.BYTES);
+        return factors + columnsBytes + (long) n * (9 * Integer.BYTES + Double.BYTES);
+    }
+
+    public void factorize() {
+        while (!isComplete()) {
+            advance();
+        }
+    }
+
+    /**
+     * Factoriza la siguiente columna.
+     * @return true si quedan columnas por factorizar.
+     */
+    public boolean advance() {
+        if (isComplete()) {
+            return false;
+        }
+        int k = step;
+        ensureCapacity(n);
+        lColumnStart[k] = lSize;
+        uColumnStart[k] = uSize;
+
+        int top = reach(k);
+        int original = perm[k];
+        for (int p = columns.rowStart(original); p < columns.rowEnd(original); p++) {
+            work[inversePerm[columns.columnAt(p)]] += columns.valueAt(p);
+        }
+        for (int px = top; px < n; px++) {
+            int row = pattern[px];
+            int column = pivotOf[row];
+            if (column < 0) {
+                continue;
+            }
+            double value = work[row];
+            if (value == 0.0) {
+                continue;
+            }
+            // L tiene diagonal unitaria guardada primero en cada columna
+            for (int p = lColumnStart[column] + 1; p < lColumnStart[column + 1]; p++) {
+                work[lRows[p]] -= lValues[p] * value;
+            }
+        }
+
+        int pivotRow = -1;
+        double max = -1.0;
+        for (int px = top; px < n; px++) {
+            int row = pattern[px];
+            if (pivotOf[row] < 0) {
+                double candidate = Math.abs(work[row]);
+                if (candidate > max) {
+                    max = candidate;
+                    pivotRow = row;
+                }
+            } else {
+                uRows[uSize] = pivotOf[row];
+                uValues[uSize] = work[row];
+                uSize++;
+            }
+        }
+        if (pivotRow < 0 || max < EPS) {
+            singular = true;
+            clearWork(top);
+            return false;
+        }
+        if (pivotOf[k] < 0 && Math.abs(work[k]) >= PIVOT_THRESHOLD * max) {
+            pivotRow = k;
+        }
+        double pivotValue = work[pivotRow];
+        uRows[uSize] = k;
+        uValues[uSize] = pivotValue;
+        uSize++;
+        pivotOf[pivotRow] = k;
+        lRows[lSize] = pivotRow;
+        lValues[lSize] = 1.0;
+        lSize++;
+        for (int px = top; px < n; px++) {
+            int row = pattern[px];
+            if (pivotOf[row] < 0) {
+                lRows[lSize] = row;
+                lValues[lSize] = work[row] / pivotValue;
+                lSize++;
+            }
+            work[row] = 0.0;
+        }
+        step++;
+        if (step == n) {
+            lColumnStart[n] = lSize;
+            uColumnStart[n] = uSize;
+            // filas de L en términos de posición de pivote, para la sustitución
+            for (int p = 0; p < lSize; p++) {
+                lRows[p] = pivotOf[lRows[p]];
+            }
+            lRows = Arrays.copyOf(lRows, lSize);
+            lValues = Arrays.copyOf(lValues, lSize);
+            uRows = Arrays.copyOf(uRows, uSize);
+            uValues = Arrays.copyOf(uValues, uSize);
+        }
+        return step < n;
+    }
+
+    /**
+     * Resuelve A·x = b escribiendo x en {@code out}; {@code out} no puede ser el mismo arreglo que {@code b}.
+     */
+    public void solve(double[] b, double[] out) {
+        if (!isComplete()) {
+            throw new IllegalStateException("La factorización LU no terminó");
+        }
+        if (singular) {
+            throw new IllegalArgumentException("Sistema singular o mal condicionado");
+        }
+        if (b.length != n || out.length != n) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        double[] z = new double[n];
+        for (int i = 0; i < n; i++) {
+            z[pivotOf[i]] = b[perm[i]];
+        }
+        for (int j = 0; j < n; j++) {
+            double value = z[j];
+            if (value == 0.0) {
+                continue;
+            }
+            for (int p = lColumnStart[j] + 1; p < lColumnStart[j + 1]; p++) {
+                z[lRows[p]] -= lValues[p] * value;
+            }
+        }
+        for (int j = n - 1; j >= 0; j--) {
+            int diagonal = uColumnStart[j + 1] - 1;
+            double value = z[j] / uValues[diagonal];
+            z[j] = value;
+            if (value == 0.0) {
+                continue;
+            }
+            for (int p = uColumnStart[j]; p < diagonal; p++) {
+                z[uRows[p]] -= uValues[p] * value;
+            }
+        }
+        for (int j = 0; j < n; j++) {
+            out[perm[j]] = z[j];
+        }
+    }
+
+    public double[] solve(double[] b) {
+        double[] x = new double[n];
+        solve(b, x);
+        return x;
+    }
+
+    public double[][] solveMany(double[][] rhs) {
+        double[][] solutions = new double[rhs.length][];
+        for (int c = 0; c < rhs.length; c++) {
+            if (rhs[c] == null) {
+                throw new IllegalArgumentException("Dimensiones inválidas");
+            }
+            solutions[c] = solve(rhs[c]);
+        }
+        return solutions;
+    }
+
+    /**
+     * Patrón de L⁻¹·C(:, k): filas alcanzables desde las no nulas de la columna k, en orden topológico en
+     * pattern[top..n).
+     */
+    private int reach(int k) {
+        int mark = k + 1;
+        int top = n;
+        int original = perm[k];
+        for (int p = columns.rowStart(original); p < columns.rowEnd(original); p++) {
+            int row = inversePerm[columns.columnAt(p)];
+            if (visited[row] != mark) {
+                top = depthFirst(row, top, mark);
+            }
+        }
+        return top;
+    }
+
+    private int depthFirst(int root, int top, int mark) {
+        int head = 0;
+        stack[0] = root;
+        while (head >= 0) {
+            int row = stack[head];
+            int column = pivotOf[row];
+            if (visited[row] != mark) {
+                visited[row] = mark;
+                stackPosition[head] = column < 0 ? 0 : lColumnStart[column] + 1;
+            }
+            boolean done = true;
+            int end = column < 0 ? 0 : lColumnStart[column + 1];
+            for (int p = stackPosition[head]; p < end; p++) {
+                int next = lRows[p];
+                if (visited[next] == mark) {
+                    continue;
+                }
+                stackPosition[head] = p + 1;
+                stack[++head] = next;
+                done = false;
+                break;
+            }
+            if (done) {
+                head--;
+                pattern[--top] = row;
+            }
+        }
+        return top;
+    }
+
+    private void clearWork(int top) {
+        for (int px = top; px < n; px++) {
+            work[pattern[px]] = 0.0;
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (lSize + extra > lRows.length) {
+            int capacity = Math.max(lRows.length * 2, lSize + extra);
+            lRows = Arrays.copyOf(lRows, capacity);
+            lValues = Arrays.copyOf(lValues, capacity);
+        }
+        if (uSize + extra > uRows.length) {
+            int capacity = Math.max(uRows.length * 2, uSize + extra);
+            uRows = Arrays.copyOf(uRows, capacity);
+            uValues = Arrays.copyOf(uValues, capacity);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.CsrMatrix;
+
+/**
+ * LU disperso con ordenamiento de grado mínimo. Sobre netlists con pocas conexiones por nodo guarda solo las
+ * entradas no nulas de L y U, por lo que escala a circuitos que no entran en una matriz densa.
+ */
+public class SparseLuSolver implements Solver {
+
+    @Override
+    public String name() {
+        return "sparse-lu";
+    }
+
+    @Override
+    public double[] solve(double[][] a, double[] b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        return solve(CsrMatrix.fromDense(a), b);
+    }
+
+    @Override
+    public double[] solve(CsrMatrix a, double[] b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        if (b.length != a.size()) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        SparseLuFactorization lu = SparseLuFactorization.factor(a);
+        if (lu.isSingular()) {
+            throw new IllegalArgumentException("Sistema singular o mal condicionado");
+        }
+        return lu.solve(b);
+    }
+
+    @Override
+    public double[][] solveMany(double[][] a, double[][] rhs) {
+        if (a == null || rhs == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        return solveMany(CsrMatrix.fromDense(a), rhs);
+    }
+
+    @Override
+    public double[][] solveMany(CsrMatrix a, double[][] rhs) {
+        if (a == null || rhs == null) {
+            throw new IllegalArgumentException("A y b no pueden ser nulos");
+        }
+        SparseLuFactorization lu = SparseLuFactorization.factor(a);
+        if (lu.isSingular()) {
+            throw new IllegalArgumentException("Sistema singular o mal condicionado");
+        }
+        return lu.solveMany(rhs);
+    }
+}
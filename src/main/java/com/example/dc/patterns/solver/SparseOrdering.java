@@ -0,0 +1,201 @@
+package com.example.dc.patterns.solver;
+
+import com.example.dc.domain.CsrMatrix;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Ordenamientos que reducen el relleno de una factorización dispersa.
+ */
+public final class SparseOrdering {
+
+    private SparseOrdering() {
+    }
+
+    /**
+     * Grado mínimo aproximado (estilo AMD) sobre el grafo cociente del patrón de A + Aᵀ: cada nodo eliminado
+     * se convierte en un elemento que reemplaza a la clique que formaría su relleno, y el grado externo de cada
+     * variable se acota con |Le \ Lp| como en Amestoy, Davis y Duff. No detecta supervariables.
+     * @return perm, donde perm[k] es el nodo original eliminado en la posición k.
+     */
+    public static int[] minimumDegree(CsrMatrix a) {
+        int n = a.size();
+        CsrMatrix transposed = a.transpose();
+        IntBag[] variables = new IntBag[n];
+        IntBag[] elements = new IntBag[n];
+        IntBag[] members = new IntBag[n];
+        int[] mark = new int[n];
+        int stamp = 0;
+        for (int i = 0; i < n; i++) {
+            stamp++;
+            mark[i] = stamp;
+            IntBag neighbours = new IntBag(a.rowEnd(i) - a.rowStart(i) + transposed.rowEnd(i) - transposed.rowStart(i));
+            collectNeighbours(a, i, neighbours, mark, stamp);
+            collectNeighbours(transposed, i, neighbours, mark, stamp);
+            variables[i] = neighbours;
+            elements[i] = new IntBag(4);
+        }
+
+        int[] degree = new int[n];
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (int i = 0; i < n; i++) {
+            degree[i] = variables[i].size;
+            queue.add(key(degree[i], i));
+        }
+
+        boolean[] eliminated = new boolean[n];
+        boolean[] absorbed = new boolean[n];
+        int[] external = new int[n];
+        Arrays.fill(external, -1);
+        IntBag touched = new IntBag(16);
+        int[] perm = new int[n];
+        for (int k = 0; k < n; k++) {
+            int p = nextPivot(queue, degree, eliminated);
+            perm[k] = p;
+            eliminated[p] = true;
+            stamp++;
+            mark[p] = stamp;
+
+            // Lp: variables alcanzables desde p directamente o a través de sus elementos, que quedan absorbidos
+            IntBag pivotMembers = new IntBag(variables[p].size + 8);
+            for (int t = 0; t < variables[p].size; t++) {
+                int v = variables[p].data[t];
+                if (!eliminated[v] && mark[v] != stamp) {
+                    mark[v] = stamp;
+                    pivotMembers.add(v);
+                }
+            }
+            for (int t = 0; t < elements[p].size; t++) {
+                int e = elements[p].data[t];
+                if (absorbed[e]) {
+                    continue;
+                }
+                IntBag eMembers = members[e];
+                for (int s = 0; s < eMembers.size; s++) {
+                    int v = eMembers.data[s];
+                    if (!eliminated[v] && mark[v] != stamp) {
+                        mark[v] = stamp;
+                        pivotMembers.add(v);
+                    }
+                }
+                absorbed[e] = true;
+                members[e] = null;
+            }
+            variables[p] = null;
+            elements[p] = null;
+            members[p] = pivotMembers;
+
+            // |Le \ Lp| para cada elemento vecino de Lp
+            touched.size = 0;
+            for (int t = 0; t < pivotMembers.size; t++) {
+                IntBag iElements = elements[pivotMembers.data[t]];
+                for (int s = 0; s < iElements.size; s++) {
+                    int e = iElements.data[s];
+                    if (absorbed[e]) {
+                        continue;
+                    }
+                    if (external[e] < 0) {
+                        external[e] = members[e].size;
+                        touched.add(e);
+                    }
+                    external[e]--;
+                }
+            }
+
+            int remaining = n - k - 1;
+            for (int t = 0; t < pivotMembers.size; t++) {
+                int i = pivotMembers.data[t];
+                int approximate = pivotMembers.size - 1;
+                IntBag iElements = elements[i];
+                int kept = 0;
+                for (int s = 0; s < iElements.size; s++) {
+                    int e = iElements.data[s];
+                    if (absorbed[e]) {
+                        continue;
+                    }
+                    if (external[e] == 0) {
+                        // absorción agresiva: Le ⊆ Lp
+                        absorbed[e] = true;
+                        members[e] = null;
+                        continue;
+                    }
+                    approximate += external[e];
+                    iElements.data[kept++] = e;
+                }
+                iElements.size = kept;
+                iElements.add(p);
+
+                IntBag iVariables = variables[i];
+                kept = 0;
+                for (int s = 0; s < iVariables.size; s++) {
+                    int v = iVariables.data[s];
+                    if (eliminated[v] || mark[v] == stamp) {
+                        continue;
+                    }
+                    approximate++;
+                    iVariables.data[kept++] = v;
+                }
+                iVariables.size = kept;
+
+                int updated = Math.min(approximate, remaining);
+                if (updated != degree[i]) {
+                    degree[i] = updated;
+                    queue.add(key(updated, i));
+                }
+            }
+            for (int t = 0; t < touched.size; t++) {
+                external[touched.data[t]] = -1;
+            }
+        }
+        return perm;
+    }
+
+    public static int[] inverse(int[] perm) {
+        int[] inverse = new int[perm.length];
+        for (int k = 0; k < perm.length; k++) {
+            inverse[perm[k]] = k;
+        }
+        return inverse;
+    }
+
+    private static void collectNeighbours(CsrMatrix m, int row, IntBag out, int[] mark, int stamp) {
+        for (int k = m.rowStart(row); k < m.rowEnd(row); k++) {
+            int column = m.columnAt(k);
+            if (mark[column] != stamp) {
+                mark[column] = stamp;
+                out.add(column);
+            }
+        }
+    }
+
+    private static int nextPivot(PriorityQueue<Long> queue, int[] degree, boolean[] eliminated) {
+        while (true) {
+            long entry = queue.remove();
+            int node = (int) entry;
+            if (!eliminated[node] && degree[node] == (int) (entry >>> 32)) {
+                return node;
+            }
+        }
+    }
+
+    private static long key(int degree, int node) {
+        return ((long) degree << 32) | node;
+    }
+
+    private static final class IntBag {
+        int[] data;
+        int size;
+
+        IntBag(int capacity) {
+            data = new int[Math.max(1, capacity)];
+        }
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.dc.schedulers;
+
+import com.example.dc.utils.Config;
+import com.example.dc.utils.MetricsLogger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Estimación del tiempo de cada método según el tamaño del sistema, aprendida de las ejecuciones reales. Por método
+ * ajusta una curva ms = c·n^p por mínimos cuadrados sobre log(ms) y log(n), con más peso en las observaciones
+ * recientes, así que el exponente refleja lo que realmente cuesta cada implementación en esta máquina (caché
+ * incluida) y no el O(n³) teórico. Arranca con el historial de {@code jobs_log.csv} y se actualiza con cada
+ * {@link Result}; mientras un método tenga menos de {@code MIN_SAMPLES} observaciones se usa la estimación a priori.
+ * <p>
+ * Cada observación se compara primero con lo que el modelo habría predicho: ese es el error que informa
+ * {@link #stats()}.
+ */
+public final class CostModel {
+
+    /** Peso de una observación tras cada observación nueva del mismo método: la ventana efectiva es de ~50. */
+    private static final double DECAY = 0.98;
+    private static final int MIN_SAMPLES = 3;
+    /** Con un solo tamaño observado no se puede ajustar el exponente; se supone el de una eliminación densa. */
+    private static final double DEFAULT_EXPONENT = 3.0;
+    private static final double MIN_EXPONENT = 0.5;
+    private static final double MAX_EXPONENT = 4.0;
+    private static final double MIN_LOG_SIZE_VARIANCE = 1e-3;
+
+    /**
+     * Columnas de los formatos que tuvo {@code jobs_log.csv}, por cantidad de campos. Se usan para las filas que no
+     * coinciden con la cabecera del archivo: las versiones anteriores agregaron columnas sin actualizar la cabecera.
+     */
+    private static final Map<Integer, List<String>> LEGACY_LAYOUTS = Map.of(
+            6, List.of("ts", "job_id", "method", "elapsed_ms", "cpu_pct", "mem_mb"),
+            7, List.of("ts", "job_id", "method", "scenario", "elapsed_ms", "cpu_pct", "mem_mb"),
+            15, MetricsLogger.COLUMNS.subList(0, 15),
+            16, MetricsLogger.COLUMNS.subList(0, 16),
+            17, MetricsLogger.COLUMNS);
+
+    /** Entero seguido de la parte decimal de un %.3f o un %.6e escritos con coma decimal. */
+    private static final Pattern INTEGER_PART = Pattern.compile("-?\\d+");
+    private static final Pattern DECIMAL_PART = Pattern.compile("\\d{3}|\\d+e[+-]\\d+");
+
+    private final Map<String, Curve> curves = new ConcurrentHashMap<>();
+
+    /**
+     * @param samples        observaciones usadas, incluidas las del historial.
+     * @param coefficientMs  c de la curva: milisegundos estimados para n = 1.
+     * @param meanAbsErrorMs error absoluto medio de las predicciones hechas antes de cada observación.
+     * @param meanAbsPctError error relativo medio, tomando al menos 1 ms como referencia.
+     */
+    public record MethodStats(String method, long samples, double exponent, double coefficientMs,
+                              long predictions, double meanAbsErrorMs, double meanAbsPctError) {}
+
+    /**
+     * Modelo con el historial de {@code log} y de los archivos que {@code MetricsLogger} apartó al cambiar el formato.
+     * Las columnas se buscan por nombre en la cabecera; las filas con otra cantidad de campos se leen con el formato
+     * anterior que corresponda, uniendo los números escritos con coma decimal. Si falta la columna {@code n}, el
+     * tamaño se deduce del nombre de los escenarios generados; las filas sin tamaño, ilegibles o de ejecuciones que
+     * tomaron la factorización de la caché se ignoran.
+     */
+    public static CostModel fromLog(Path log) {
+        CostModel model = new CostModel();
+        if (log == null) {
+            return model;
+        }
+        List<Path> files = new ArrayList<>(MetricsLogger.rotatedLogs(log));
+        files.add(log);
+        for (Path file : files) {
+            if (Files.exists(file)) {
+                model.replayFile(file);
+            }
+        }
+        return model;
+    }
+
+    /** Milisegundos estimados, al menos 1; {@code priorMs} hasta que el método tenga observaciones suficientes. */
+    public long estimate(String method, int size, long priorMs) {
+        double predicted = predictMs(method, size);
+        return Double.isNaN(predicted) ? priorMs : Math.max(1L, Math.round(predicted));
+    }
+
+    /** @return NaN si el método todavía no tiene observaciones suficientes. */
+    public double predictMs(String method, int size) {
+        Curve curve = curves.get(key(method));
+        return curve == null || size <= 0 ? Double.NaN : curve.predict(Math.log(size));
+    }
+
+    /** Incorpora una ejecución; las que no tienen tiempo medible o tamaño conocido se ignoran. */
+    public void observe(String method, int size, double elapsedMs) {
+        if (method == null || size <= 0 || !(elapsedMs > 0) || Double.isInfinite(elapsedMs)) {
+            return;
+        }
+        curves.computeIfAbsent(key(method), k -> new Curve()).observe(Math.log(size), elapsedMs);
+    }
+
+    public List<MethodStats> stats() {
+        List<MethodStats> stats = new ArrayList<>();
+        new TreeMap<>(curves).forEach((method, curve) -> stats.add(curve.stats(method)));
+        return stats;
+    }
+
+    private void replayFile(Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return;
+            }
+            List<String> columns = List.of(header.trim().split(","));
+            reader.lines().forEach(line -> replay(columns, line));
+        } catch (IOException | RuntimeException e) {
+            // sin historial se empieza con las estimaciones a priori
+        }
+    }
+
+    private void replay(List<String> columns, String line) {
+        String[] parts = line.trim().split(",");
+        List<String> layout = columns;
+        if (parts.length != columns.size()) {
+            parts = joinDecimalCommas(parts);
+            layout = LEGACY_LAYOUTS.get(parts.length);
+            if (layout == null) {
+                return;
+            }
+        }
+        int method = layout.indexOf("method");
+        int elapsed = layout.indexOf("elapsed_ms");
+        int n = layout.indexOf("n");
+        int scenario = layout.indexOf("scenario");
+        int cached = layout.indexOf("cached");
+        if (method < 0 || elapsed < 0 || (cached >= 0 && Boolean.parseBoolean(parts[cached]))) {
+            return;
+        }
+        try {
+            int size = n >= 0 ? Integer.parseInt(parts[n]) : scenario >= 0 ? scenarioSize(parts[scenario]) : -1;
+            observe(parts[method], size, Double.parseDouble(parts[elapsed]));
+        } catch (NumberFormatException e) {
+            // fila de otro formato
+        }
+    }
+
+    /** Las versiones anteriores formateaban con el locale del sistema: "0,000" son dos campos para el split. */
+    private static String[] joinDecimalCommas(String[] parts) {
+        List<String> joined = new ArrayList<>(parts.length);
+        for (int i = 0; i < parts.length; i++) {
+            if (i + 1 < parts.length && INTEGER_PART.matcher(parts[i]).matches()
+                    && DECIMAL_PART.matcher(parts[i + 1]).matches()) {
+                joined.add(parts[i] + "." + parts[i + 1]);
+                i++;
+            } else {
+                joined.add(parts[i]);
+            }
+        }
+        return joined.toArray(String[]::new);
+    }
+
+    private static int scenarioSize(String scenario) {
+        int dash = scenario.indexOf('-');
+        return Config.scenarioSize(dash > 0 ? scenario.substring(0, dash) : scenario);
+    }
+
+    private static String key(String method) {
+        return method == null ? "" : method.toLowerCase(Locale.ROOT);
+    }
+
+    /** Sumas ponderadas de x = log(n) e y = log(ms) de un método. */
+    private static final class Curve {
+        private double weight;
+        private double sumX;
+        private double sumY;
+        private double sumXX;
+        private double sumXY;
+        private long samples;
+        private long predictions;
+        private double absErrorMsSum;
+        private double absPctErrorSum;
+
+        synchronized double predict(double x) {
+            if (samples < MIN_SAMPLES) {
+                return Double.NaN;
+            }
+            double meanX = sumX / weight;
+            return Math.exp(sumY / weight + exponent() * (x - meanX));
+        }
+
+        synchronized void observe(double x, double elapsedMs) {
+            double predicted = predict(x);
+            if (!Double.isNaN(predicted)) {
+                double error = Math.abs(predicted - elapsedMs);
+                predictions++;
+                absErrorMsSum += error;
+                absPctErrorSum += 100.0 * error / Math.max(1.0, elapsedMs);
+            }
+            double y = Math.log(elapsedMs);
+            weight = weight * DECAY + 1.0;
+            sumX = sumX * DECAY + x;
+            sumY = sumY * DECAY + y;
+            sumXX = sumXX * DECAY + x * x;
+            sumXY = sumXY * DECAY + x * y;
+            samples++;
+        }
+
+        synchronized MethodStats stats(String method) {
+            double exponent = samples > 0 ? exponent() : Double.NaN;
+            double coefficient = samples > 0 ? Math.exp((sumY - exponent * sumX) / weight) : Double.NaN;
+            return new MethodStats(method, samples, exponent, coefficient, predictions,
+                    predictions > 0 ? absErrorMsSum / predictions : Double.NaN,
+                    predictions > 0 ? absPctErrorSum / predictions : Double.NaN);
+        }
+
+        private double exponent() {
+            double meanX = sumX / weight;
+            double varianceX = sumXX / weight - meanX * meanX;
+            if (varianceX < MIN_LOG_SIZE_VARIANCE) {
+                return DEFAULT_EXPONENT;
+            }
+            double covariance = sumXY / weight - meanX * sumY / weight;
+            return Math.max(MIN_EXPONENT, Math.min(MAX_EXPONENT, covariance / varianceX));
+        }
+    }
+}
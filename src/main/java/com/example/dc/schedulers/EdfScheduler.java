@@ -0,0 +1,48 @@
+package com.example.dc.schedulers;
+
+import com.example.dc.utils.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encola los trabajos de una petición en la cola EDF global ({@link GlobalScheduler#EDF}) con el vencimiento de la
+ * petición: corren por quantum y siempre avanza el de plazo más próximo entre todas las peticiones. Devuelve los
+ * resultados en orden de finalización.
+ */
+public class EdfScheduler implements IScheduler {
+
+    private final List<Job> jobs = new ArrayList<>();
+    private final long deadlineNanos;
+    private final long quantumMs;
+
+    /** Sin plazo: los trabajos corren después de los que tienen. */
+    public EdfScheduler() {
+        this(GlobalScheduler.NO_DEADLINE, Config.QUANTUM_MS);
+    }
+
+    /** @param deadlineNanos vencimiento según {@link System#nanoTime()}. */
+    public EdfScheduler(long deadlineNanos, long quantumMs) {
+        this.deadlineNanos = deadlineNanos;
+        this.quantumMs = quantumMs;
+    }
+
+    @Override
+    public void submit(Job job) {
+        jobs.add(job);
+    }
+
+    @Override
+    public List<Result> runAll() {
+        List<Job> submitted = new ArrayList<>(jobs);
+        jobs.clear();
+        List<Result> results = GlobalScheduler.await(
+                GlobalScheduler.EDF.submitAll(submitted, Math.max(1L, quantumMs), deadlineNanos), "EDF");
+        return GlobalScheduler.inFinishOrder(submitted, results);
+    }
+
+    @Override
+    public String name() {
+        return "edf";
+    }
+}
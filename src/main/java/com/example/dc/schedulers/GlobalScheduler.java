@@ -0,0 +1,225 @@
+package com.example.dc.schedulers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cola de ejecución única por política, compartida por todas las peticiones: los trabajos de peticiones distintas
+ * compiten entre sí y el orden FCFS, SJF o RR se aplica sobre todos ellos, no solo dentro de una petición. Cada
+ * petición recibe un futuro por trabajo.
+ * <p>
+ * No hay hilos propios: por cada trabajo encolado se pide un lugar a {@link SchedulerExecutor} y, cuando lo obtiene,
+ * se toma el mejor trabajo de la cola en ese momento (no necesariamente el que pidió el lugar). Con RR el trabajo
+ * corre un quantum y, si no terminó, vuelve al final de la cola y pide otro lugar.
+ * <p>
+ * MLFQ es RR con realimentación: un trabajo baja un nivel cada vez que agota su quantum sin terminar; cada nivel tiene
+ * un quantum cuatro veces mayor y solo corre si los anteriores están vacíos. El quantum se descuenta con el costo por
+ * paso que informa {@link StepRunner#runNextStep()}, así que un sistema de 3×3 termina en los primeros quanta y uno de
+ * 80×80 baja a quanta largos. Sin estimación todo trabajo entra al nivel 0; con {@link Job#getEstimatedMs()} entra al
+ * primer nivel donde terminaría en unos pocos quanta, sin pasar por los cortos. Para que nada espere indefinidamente,
+ * cada {@code MLFQ_BOOST_MS} todos los trabajos en espera vuelven al nivel 0.
+ * <p>
+ * EDF corre por quantum como RR pero toma siempre el trabajo con el vencimiento más próximo, así que un trabajo con
+ * plazo corto que llega mientras corre uno de plazo largo lo desaloja en el siguiente fin de quantum. Los trabajos
+ * sin plazo van después de todos los que tienen.
+ */
+public final class GlobalScheduler {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private static final Comparator<Entry> BY_ARRIVAL = Comparator.comparingLong(entry -> entry.sequence);
+
+    private static final long[] MLFQ_QUANTA_MS = {2L, 8L, 32L};
+    private static final long MLFQ_BOOST_MS = 500L;
+    /** Quanta de un nivel que puede ocupar un trabajo según su estimación antes de entrar al siguiente. */
+    private static final long MLFQ_QUANTA_PER_LEVEL = 4L;
+
+    public static final GlobalScheduler FCFS = new GlobalScheduler("fcfs", BY_ARRIVAL);
+    public static final GlobalScheduler SJF = new GlobalScheduler("sjf",
+            Comparator.<Entry, Long>comparing(entry -> entry.job.getEstimatedMs(), Comparator.nullsLast(Long::compareTo))
+                    .thenComparing(BY_ARRIVAL));
+    public static final GlobalScheduler RR = new GlobalScheduler("rr", BY_ARRIVAL);
+    public static final GlobalScheduler MLFQ = new GlobalScheduler("mlfq",
+            Comparator.<Entry>comparingInt(entry -> entry.level).thenComparing(BY_ARRIVAL), true);
+    public static final GlobalScheduler EDF = new GlobalScheduler("edf",
+            Comparator.<Entry>comparingLong(entry -> entry.deadlineNanos).thenComparing(BY_ARRIVAL));
+
+    /** Plazo de los trabajos que no tienen: van después de todos los demás en EDF. */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final String name;
+    private final PriorityQueue<Entry> queue;
+    private final boolean feedback;
+    private long lastBoost = System.nanoTime();
+
+    private GlobalScheduler(String name, Comparator<Entry> order) {
+        this(name, order, false);
+    }
+
+    private GlobalScheduler(String name, Comparator<Entry> order, boolean feedback) {
+        this.name = name;
+        this.queue = new PriorityQueue<>(order);
+        this.feedback = feedback;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Encola todos los trabajos juntos, de modo que la política los compare entre sí antes de que empiece cualquiera.
+     * @param quantumMs quantum de RR; 0 o negativo ejecuta cada trabajo hasta terminar. MLFQ lo ignora: el quantum
+     *                  depende del nivel.
+     * @return un futuro por trabajo, en el mismo orden.
+     */
+    public List<CompletableFuture<Result>> submitAll(List<Job> jobs, long quantumMs) {
+        return submitAll(jobs, quantumMs, NO_DEADLINE);
+    }
+
+    /** @param deadlineNanos vencimiento de todos los trabajos según {@link System#nanoTime()}; solo lo usa EDF. */
+    public List<CompletableFuture<Result>> submitAll(List<Job> jobs, long quantumMs, long deadlineNanos) {
+        List<CompletableFuture<Result>> futures = new ArrayList<>(jobs.size());
+        synchronized (queue) {
+            for (Job job : jobs) {
+                Entry entry = new Entry(job, quantumMs, deadlineNanos);
+                if (feedback) {
+                    entry.level = initialLevel(job.getEstimatedMs());
+                }
+                queue.add(entry);
+                futures.add(entry.future);
+            }
+        }
+        for (int i = 0; i < jobs.size(); i++) {
+            SchedulerExecutor.execute(this::runNext);
+        }
+        return futures;
+    }
+
+    /** Trabajos esperando en la cola, sin contar los que están corriendo. */
+    public int queueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Espera los futuros en orden; {@code label} identifica al planificador en los errores. Si un trabajo falla
+     * espera igual a los demás, para que ninguno siga usando la matriz cuando el llamador libere el spec.
+     */
+    static List<Result> await(List<CompletableFuture<Result>> futures, String label) {
+        List<Result> results = new ArrayList<>(futures.size());
+        IllegalStateException failure = null;
+        for (CompletableFuture<Result> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(label + " scheduler interrupted", e);
+            } catch (ExecutionException | CancellationException e) {
+                // un job cancelado completa su futuro con CancellationException, que get() lanza sin envolver
+                if (failure == null) {
+                    Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                    failure = new IllegalStateException(label + " job failed", cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /** Reordena {@code results}, paralelos a {@code jobs}, según cuándo terminó cada trabajo. */
+    static List<Result> inFinishOrder(List<Job> jobs, List<Result> results) {
+        List<Integer> byFinish = new ArrayList<>(jobs.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            byFinish.add(i);
+        }
+        byFinish.sort(Comparator.comparing(i -> jobs.get(i).getFinish()));
+        List<Result> ordered = new ArrayList<>(results.size());
+        for (int i : byFinish) {
+            ordered.add(results.get(i));
+        }
+        return ordered;
+    }
+
+    private void runNext() {
+        Entry entry;
+        synchronized (queue) {
+            if (feedback) {
+                boostIfDue();
+            }
+            entry = queue.poll();
+        }
+        if (entry == null || entry.future.isDone()) {
+            return;
+        }
+        try {
+            long quantumMs = feedback ? MLFQ_QUANTA_MS[entry.level] : entry.quantumMs;
+            if (quantumMs <= 0) {
+                entry.future.complete(entry.job.runToCompletion());
+                return;
+            }
+            Job.QuantumOutcome outcome = entry.job.runForQuantum(quantumMs);
+            if (outcome.finished()) {
+                entry.future.complete(outcome.result());
+                return;
+            }
+            synchronized (queue) {
+                if (feedback) {
+                    entry.level = Math.min(entry.level + 1, MLFQ_QUANTA_MS.length - 1);
+                }
+                entry.sequence = SEQUENCE.incrementAndGet();
+                queue.add(entry);
+            }
+            SchedulerExecutor.execute(this::runNext);
+        } catch (RuntimeException | Error e) {
+            entry.future.completeExceptionally(e);
+        }
+    }
+
+    private static int initialLevel(Long estimatedMs) {
+        int level = 0;
+        while (estimatedMs != null && level < MLFQ_QUANTA_MS.length - 1
+                && estimatedMs > MLFQ_QUANTA_MS[level] * MLFQ_QUANTA_PER_LEVEL) {
+            level++;
+        }
+        return level;
+    }
+
+    /** Devuelve al nivel 0 todo lo que espera en la cola; se llama con la cola tomada. */
+    private void boostIfDue() {
+        long now = System.nanoTime();
+        if (now - lastBoost < MLFQ_BOOST_MS * 1_000_000L) {
+            return;
+        }
+        lastBoost = now;
+        List<Entry> waiting = new ArrayList<>(queue);
+        queue.clear();
+        for (Entry entry : waiting) {
+            entry.level = 0;
+        }
+        queue.addAll(waiting);
+    }
+
+    private static final class Entry {
+        private final Job job;
+        private final long quantumMs;
+        private final long deadlineNanos;
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+        private long sequence = SEQUENCE.incrementAndGet();
+        private int level;
+
+        private Entry(Job job, long quantumMs, long deadlineNanos) {
+            this.job = job;
+            this.quantumMs = quantumMs;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
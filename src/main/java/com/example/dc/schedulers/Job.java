@@ -1,21 +1,30 @@
 package com.example.dc.schedulers;
 
+import com.example.dc.domain.CsrMatrix;
+import com.example.dc.domain.DenseMatrix;
+import com.example.dc.domain.OffHeapMatrix;
+
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 public class Job {
     private final String id;
     private final String methodName;
-    private final double[][] a;
+    private final DenseMatrix a;
+    private final CsrMatrix sparseA;
+    private final OffHeapMatrix offHeapA;
     private final double[] b;
     private final StepRunner stepRunner;
     private final Long estimatedMs;
 
     private final Instant created;
-    private Instant firstStart;
-    private Instant finish;
+    private volatile Instant firstStart;
+    private volatile Instant finish;
+    private volatile boolean cancelled;
+    private volatile Consumer<Result> finishListener;
     private double accumulatedElapsedMs;
 
     public Job(String methodName, double[][] a, double[] b, StepRunner stepRunner, Long estimatedMs) {
@@ -23,9 +32,47 @@ public class Job {
     }
 
     public Job(String id, String methodName, double[][] a, double[] b, StepRunner stepRunner, Long estimatedMs) {
+        this(id, methodName, DenseMatrix.of(a), b, stepRunner, estimatedMs);
+    }
+
+    /** A se comparte sin copiar con el CircuitSpec y el runner. */
+    public Job(String methodName, DenseMatrix a, double[] b, StepRunner stepRunner, Long estimatedMs) {
+        this(UUID.randomUUID().toString(), methodName, a, b, stepRunner, estimatedMs);
+    }
+
+    public Job(String id, String methodName, DenseMatrix a, double[] b, StepRunner stepRunner, Long estimatedMs) {
         this.id = id;
         this.methodName = methodName;
-        this.a = deepCopy(a);
+        this.a = a;
+        this.sparseA = null;
+        this.offHeapA = null;
+        this.b = b.clone();
+        this.stepRunner = stepRunner;
+        this.estimatedMs = estimatedMs;
+        this.created = Instant.now();
+        this.accumulatedElapsedMs = 0.0;
+    }
+
+    public Job(String methodName, CsrMatrix a, double[] b, StepRunner stepRunner, Long estimatedMs) {
+        this.id = UUID.randomUUID().toString();
+        this.methodName = methodName;
+        this.a = null;
+        this.sparseA = a;
+        this.offHeapA = null;
+        this.b = b.clone();
+        this.stepRunner = stepRunner;
+        this.estimatedMs = estimatedMs;
+        this.created = Instant.now();
+        this.accumulatedElapsedMs = 0.0;
+    }
+
+    /** A fuera del heap, compartida con el CircuitSpec; el job no la libera. */
+    public Job(String methodName, OffHeapMatrix a, double[] b, StepRunner stepRunner, Long estimatedMs) {
+        this.id = UUID.randomUUID().toString();
+        this.methodName = methodName;
+        this.a = null;
+        this.sparseA = null;
+        this.offHeapA = a;
         this.b = b.clone();
         this.stepRunner = stepRunner;
         this.estimatedMs = estimatedMs;
@@ -58,21 +105,62 @@ public class Job {
     }
 
     public double[][] getA() {
-        return deepCopy(a);
+        if (sparseA != null) {
+            return sparseA.toDense();
+        }
+        return offHeapA != null ? offHeapA.toArray() : a.toArray();
+    }
+
+    /** A densa sin copiar; null si el job es disperso o fuera del heap. */
+    public DenseMatrix getMatrix() {
+        return a;
+    }
+
+    public CsrMatrix getSparseA() {
+        return sparseA;
+    }
+
+    public OffHeapMatrix getOffHeapA() {
+        return offHeapA;
     }
 
     public double[] getB() {
         return b.clone();
     }
 
+    /**
+     * Pide detener el job en el próximo límite entre pasos; desde ahí {@link #runToCompletion()} y
+     * {@link #runForQuantum(long)} lanzan {@link CancellationException} y el planificador lo da por terminado.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * {@code listener} recibe el resultado en el hilo del planificador apenas termina el último paso, antes de que lo
+     * vea quien espera con {@link IScheduler#runAll()}; no se llama si el job se cancela o falla.
+     */
+    public void whenFinished(Consumer<Result> listener) {
+        this.finishListener = listener;
+    }
+
+    /** Aproximación actual del runner; se puede leer mientras otro hilo ejecuta pasos. */
+    public double[] currentSolution() {
+        return stepRunner.currentResult();
+    }
+
     public Result runToCompletion() {
         markFirstStart();
         long start = System.nanoTime();
         while (!stepRunner.isFinished()) {
+            checkNotCancelled();
             stepRunner.runNextStep();
         }
-        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
-        accumulatedElapsedMs += elapsedMs;
+        accumulatedElapsedMs += (System.nanoTime() - start) / 1_000_000.0;
         finish = Instant.now();
         return buildResult();
     }
@@ -82,11 +170,13 @@ public class Job {
         long wallStart = System.nanoTime();
         long budget = quantumMs;
         while (!stepRunner.isFinished() && budget > 0) {
+            checkNotCancelled();
             long estimated = stepRunner.runNextStep();
             budget -= Math.max(1, estimated);
         }
-        long elapsedMs = (System.nanoTime() - wallStart) / 1_000_000;
-        accumulatedElapsedMs += elapsedMs;
+        long elapsedNanos = System.nanoTime() - wallStart;
+        long elapsedMs = elapsedNanos / 1_000_000;
+        accumulatedElapsedMs += elapsedNanos / 1_000_000.0;
         if (stepRunner.isFinished()) {
             finish = Instant.now();
             return new QuantumOutcome(true, elapsedMs, buildResult());
@@ -98,25 +188,31 @@ public class Job {
         return stepRunner.isFinished();
     }
 
+    private void checkNotCancelled() {
+        if (cancelled) {
+            finish = Instant.now();
+            throw new CancellationException("Job cancelado: " + methodName);
+        }
+    }
+
     private void markFirstStart() {
         if (firstStart == null) {
             firstStart = Instant.now();
         }
     }
 
-    private double[][] deepCopy(double[][] matrix) {
-        return Arrays.stream(matrix)
-                .map(double[]::clone)
-                .toArray(double[][]::new);
-    }
-
     public record QuantumOutcome(boolean finished, long elapsedMs, Result result) {}
 
     private Result buildResult() {
         finish = Instant.now();
         double waitingMs = millisBetween(created, firstStart != null ? firstStart : finish);
         double turnaroundMs = millisBetween(created, finish);
-        return new Result(id, methodName, accumulatedElapsedMs, waitingMs, turnaroundMs, stepRunner.currentResult());
+        Result result = new Result(id, methodName, accumulatedElapsedMs, waitingMs, turnaroundMs, stepRunner.currentResult());
+        Consumer<Result> listener = finishListener;
+        if (listener != null) {
+            listener.accept(result);
+        }
+        return result;
     }
 
     private static double millisBetween(Instant start, Instant end) {
@@ -0,0 +1,32 @@
+package com.example.dc.schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encola los trabajos de una petición en la cola MLFQ global ({@link GlobalScheduler#MLFQ}): el quantum crece a
+ * medida que un trabajo baja de nivel y la estimación, si la hay, solo elige el nivel de entrada. Devuelve los
+ * resultados en orden de finalización.
+ */
+public class MlfqScheduler implements IScheduler {
+
+    private final List<Job> jobs = new ArrayList<>();
+
+    @Override
+    public void submit(Job job) {
+        jobs.add(job);
+    }
+
+    @Override
+    public List<Result> runAll() {
+        List<Job> submitted = new ArrayList<>(jobs);
+        jobs.clear();
+        List<Result> results = GlobalScheduler.await(GlobalScheduler.MLFQ.submitAll(submitted, 0L), "MLFQ");
+        return GlobalScheduler.inFinishOrder(submitted, results);
+    }
+
+    @Override
+    public String name() {
+        return "mlfq";
+    }
+}
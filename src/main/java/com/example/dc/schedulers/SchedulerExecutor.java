@@ -0,0 +1,112 @@
+package com.example.dc.schedulers;
+
+import com.example.dc.utils.Config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ejecutor único de la aplicación donde todos los {@link IScheduler} ejecutan sus trabajos. Como mucho
+ * {@link Config#parallelism()} trabajos usan CPU a la vez; varias peticiones concurrentes comparten ese cupo y sus
+ * trabajos esperan en vez de sobresuscribir la CPU.
+ * <p>
+ * Por defecto usa ese mismo número de hilos de plataforma, creados una sola vez. Con {@link Config#virtualThreads()}
+ * cada trabajo corre en su propio hilo virtual y el cupo lo impone un semáforo, de modo que los trabajos en espera no
+ * ocupan hilos de plataforma.
+ * <p>
+ * Los trabajos no deben esperar otras tareas de este mismo ejecutor; la paralelización interna de una resolución usa
+ * {@code ParallelRows}, que tiene su propio pool pero solo ocupa los lugares que toma con {@link #tryAcquireSlots}.
+ */
+public final class SchedulerExecutor {
+
+    private static final int PARALLELISM = Math.max(1, Config.parallelism());
+    private static final boolean VIRTUAL = Config.virtualThreads();
+    private static final ExecutorService EXECUTOR = VIRTUAL
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dc-scheduler-", 1).factory())
+            : Executors.newFixedThreadPool(PARALLELISM, platformThreads());
+    private static final Semaphore CPU_SLOTS = new Semaphore(PARALLELISM, true);
+    private static final AtomicLong SUBMITTED = new AtomicLong();
+    private static final AtomicLong COMPLETED = new AtomicLong();
+
+    private SchedulerExecutor() {}
+
+    /**
+     * @param activeTasks trabajos usando CPU en este momento.
+     * @param queueDepth  trabajos enviados que todavía esperan un lugar.
+     */
+    public record Stats(boolean virtualThreads, int parallelism, int activeTasks, long queueDepth,
+                        long submittedTasks, long completedTasks) {}
+
+    public static <T> Future<T> submit(Callable<T> task) {
+        SUBMITTED.incrementAndGet();
+        return EXECUTOR.submit(() -> {
+            try {
+                CPU_SLOTS.acquire();
+                try {
+                    return task.call();
+                } finally {
+                    CPU_SLOTS.release();
+                }
+            } finally {
+                COMPLETED.incrementAndGet();
+            }
+        });
+    }
+
+    public static void execute(Runnable task) {
+        submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Toma sin esperar hasta {@code max} lugares libres para que un trabajo en curso reparta su cálculo. Respeta el
+     * orden del semáforo: si hay trabajos esperando lugar, no toma ninguno.
+     * @return lugares tomados, que se devuelven con {@link #releaseSlots(int)}.
+     */
+    public static int tryAcquireSlots(int max) {
+        int acquired = 0;
+        try {
+            while (acquired < max && CPU_SLOTS.tryAcquire(0L, TimeUnit.NANOSECONDS)) {
+                acquired++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return acquired;
+    }
+
+    public static void releaseSlots(int slots) {
+        if (slots > 0) {
+            CPU_SLOTS.release(slots);
+        }
+    }
+
+    public static int parallelism() {
+        return PARALLELISM;
+    }
+
+    public static Stats stats() {
+        long completed = COMPLETED.get();
+        long submitted = SUBMITTED.get();
+        int active = PARALLELISM - CPU_SLOTS.availablePermits();
+        return new Stats(VIRTUAL, PARALLELISM, active, Math.max(0L, submitted - completed - active), submitted, completed);
+    }
+
+    private static ThreadFactory platformThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "dc-scheduler-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
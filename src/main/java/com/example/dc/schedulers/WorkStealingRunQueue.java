@@ -0,0 +1,140 @@
+package com.example.dc.schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Round Robin con una cola por trabajador y robo de trabajo, compartido por todas las peticiones. Hay
+ * {@link SchedulerExecutor#parallelism()} trabajadores; cada uno toma el primer trabajo de su cola, lo corre un
+ * quantum y, si no terminó, lo devuelve al final de su propia cola. Un trabajador sin trabajo roba el último de la
+ * cola de otro, así que un quantum lento solo demora a su trabajador y no a una ronda completa.
+ * <p>
+ * Los trabajadores no son hilos fijos: cada activación toma un lugar de {@link SchedulerExecutor}, corre un solo
+ * quantum y lo devuelve, volviendo a la cola del ejecutor si queda trabajo, igual que {@code GlobalScheduler}. Así
+ * los trabajos de las colas globales no esperan a que se vacíen todas las colas de los trabajadores.
+ */
+public final class WorkStealingRunQueue {
+
+    public static final WorkStealingRunQueue SHARED = new WorkStealingRunQueue(SchedulerExecutor.parallelism());
+
+    private final List<ConcurrentLinkedDeque<Entry>> deques;
+    private final ConcurrentLinkedQueue<Integer> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nextDeque = new AtomicInteger();
+    private final AtomicLong steals = new AtomicLong();
+
+    private WorkStealingRunQueue(int workers) {
+        this.deques = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            deques.add(new ConcurrentLinkedDeque<>());
+            idleWorkers.add(w);
+        }
+    }
+
+    /**
+     * Reparte los trabajos entre las colas de los trabajadores y activa a los que estén ociosos.
+     * @return un futuro por trabajo, en el mismo orden.
+     */
+    public List<CompletableFuture<Result>> submitAll(List<Job> jobs, long quantumMs) {
+        List<CompletableFuture<Result>> futures = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            Entry entry = new Entry(job, Math.max(1L, quantumMs));
+            deques.get(Math.floorMod(nextDeque.getAndIncrement(), deques.size())).addLast(entry);
+            futures.add(entry.future);
+        }
+        int wakeUps = Math.min(jobs.size(), deques.size());
+        for (int i = 0; i < wakeUps; i++) {
+            SchedulerExecutor.execute(this::activate);
+        }
+        return futures;
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (ConcurrentLinkedDeque<Entry> deque : deques) {
+            depth += deque.size();
+        }
+        return depth;
+    }
+
+    /** Trabajos que un trabajador tomó de la cola de otro desde que arrancó la aplicación. */
+    public long steals() {
+        return steals.get();
+    }
+
+    private void activate() {
+        Integer worker = idleWorkers.poll();
+        if (worker == null) {
+            // todos los trabajadores están corriendo un quantum y cada uno vuelve a activarse al terminarlo
+            return;
+        }
+        try {
+            runQuantum(worker);
+        } finally {
+            idleWorkers.add(worker);
+        }
+        // también cubre el trabajo que llegó entre la búsqueda y la liberación del trabajador
+        if (hasWork()) {
+            SchedulerExecutor.execute(this::activate);
+        }
+    }
+
+    private void runQuantum(int worker) {
+        Entry entry = next(worker);
+        while (entry != null && entry.future.isDone()) {
+            entry = next(worker);
+        }
+        if (entry == null) {
+            return;
+        }
+        try {
+            Job.QuantumOutcome outcome = entry.job.runForQuantum(entry.quantumMs);
+            if (outcome.finished()) {
+                entry.future.complete(outcome.result());
+            } else {
+                deques.get(worker).addLast(entry);
+            }
+        } catch (RuntimeException | Error e) {
+            entry.future.completeExceptionally(e);
+        }
+    }
+
+    private Entry next(int worker) {
+        Entry entry = deques.get(worker).pollFirst();
+        if (entry != null) {
+            return entry;
+        }
+        for (int offset = 1; offset < deques.size(); offset++) {
+            entry = deques.get((worker + offset) % deques.size()).pollLast();
+            if (entry != null) {
+                steals.incrementAndGet();
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasWork() {
+        for (ConcurrentLinkedDeque<Entry> deque : deques) {
+            if (!deque.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        private final Job job;
+        private final long quantumMs;
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+
+        private Entry(Job job, long quantumMs) {
+            this.job = job;
+            this.quantumMs = quantumMs;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.dc.schedulers;
+
+import com.example.dc.utils.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encola los trabajos de una petición en {@link WorkStealingRunQueue#SHARED}, donde se turnan por quantum en la cola
+ * de cada trabajador, y devuelve los resultados en orden de finalización.
+ */
+public class WorkStealingScheduler implements IScheduler {
+
+    private final List<Job> jobs = new ArrayList<>();
+    private final long quantumMs;
+
+    public WorkStealingScheduler() {
+        this(Config.QUANTUM_MS);
+    }
+
+    public WorkStealingScheduler(long quantumMs) {
+        this.quantumMs = quantumMs;
+    }
+
+    @Override
+    public void submit(Job job) {
+        jobs.add(job);
+    }
+
+    @Override
+    public List<Result> runAll() {
+        List<Job> submitted = new ArrayList<>(jobs);
+        jobs.clear();
+        List<Result> results = GlobalScheduler.await(WorkStealingRunQueue.SHARED.submitAll(submitted, quantumMs), "WorkStealing");
+        return GlobalScheduler.inFinishOrder(submitted, results);
+    }
+
+    @Override
+    public String name() {
+        return "ws";
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.dc.schedulers.runners;
+
+import com.example.dc.patterns.solver.BlockedLuSolver;
+import com.example.dc.patterns.solver.LuFactorization;
+import com.example.dc.schedulers.StepRunner;
+
+import java.util.Arrays;
+
+public class BlockedLuStepRunner implements StepRunner {
+
+    private final LuFactorization lu;
+    private final double[] b;
+    private final double[] solution;
+    private final int blockSize;
+    private boolean finished;
+
+    public BlockedLuStepRunner(double[][] a, double[] b) {
+        this(a, b, BlockedLuSolver.DEFAULT_BLOCK_SIZE);
+    }
+
+    public BlockedLuStepRunner(double[][] a, double[] b, int blockSize) {
+        this(new LuFactorization(a), b, blockSize);
+    }
+
+    /**
+     * @param lu factorización de A, nueva o ya terminada; en el segundo caso el primer paso solo resuelve.
+     */
+    public BlockedLuStepRunner(LuFactorization lu, double[] b, int blockSize) {
+        if (lu.size() != b.length) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        this.lu = lu;
+        this.b = b.clone();
+        this.solution = new double[b.length];
+        this.blockSize = blockSize;
+        this.finished = b.length == 0;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public long runNextStep() {
+        if (isFinished()) {
+            return 0L;
+        }
+        long start = System.nanoTime();
+        lu.advanceBlock(blockSize);
+        if (lu.isComplete()) {
+            if (lu.isSingular()) {
+                throw new IllegalArgumentException("Sistema singular o mal condicionado");
+            }
+            lu.solve(b, solution);
+            finished = true;
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return Math.max(1L, elapsed);
+    }
+
+    @Override
+    public double[] currentResult() {
+        return Arrays.copyOf(solution, solution.length);
+    }
+}
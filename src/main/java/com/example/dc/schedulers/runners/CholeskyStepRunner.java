@@ -0,0 +1,109 @@
+package com.example.dc.schedulers.runners;
+
+import com.example.dc.domain.DenseMatrix;
+import com.example.dc.patterns.solver.BlockedLuSolver;
+import com.example.dc.patterns.solver.CholeskyFactorization;
+import com.example.dc.patterns.solver.LuFactorization;
+import com.example.dc.schedulers.StepRunner;
+
+import java.util.Arrays;
+
+/**
+ * Avanza filas de Cholesky hasta consumir ~1 ms por paso. Si A no es simétrica o resulta no ser definida
+ * positiva, los pasos siguientes continúan con LU por bloques sobre la matriz original.
+ */
+public class CholeskyStepRunner implements StepRunner {
+
+    private static final long STEP_BUDGET_NANOS = 1_000_000L;
+
+    private final DenseMatrix a;
+    private final double[] b;
+    private final double[] solution;
+    private CholeskyFactorization cholesky;
+    private LuFactorization lu;
+    private boolean finished;
+
+    public CholeskyStepRunner(double[][] a, double[] b) {
+        this(a, b, false);
+    }
+
+    public CholeskyStepRunner(double[][] a, double[] b, boolean assumeSymmetric) {
+        this(DenseMatrix.of(a), b, assumeSymmetric);
+    }
+
+    public CholeskyStepRunner(DenseMatrix a, double[] b, boolean assumeSymmetric) {
+        if (a.size() != b.length) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        this.a = a;
+        this.b = b.clone();
+        this.solution = new double[b.length];
+        if (assumeSymmetric || CholeskyFactorization.isSymmetric(a)) {
+            this.cholesky = new CholeskyFactorization(a);
+        } else {
+            this.lu = new LuFactorization(a);
+        }
+        this.finished = b.length == 0;
+    }
+
+    /**
+     * Reutiliza una factorización de Cholesky ya calculada; A solo se usa si hubiera que pasar a LU.
+     */
+    public CholeskyStepRunner(double[][] a, double[] b, CholeskyFactorization cholesky) {
+        this(DenseMatrix.of(a), b, cholesky);
+    }
+
+    public CholeskyStepRunner(DenseMatrix a, double[] b, CholeskyFactorization cholesky) {
+        if (a.size() != b.length || cholesky.size() != b.length) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        this.a = a;
+        this.b = b.clone();
+        this.solution = new double[b.length];
+        this.cholesky = cholesky;
+        this.finished = b.length == 0;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public long runNextStep() {
+        if (isFinished()) {
+            return 0L;
+        }
+        long start = System.nanoTime();
+        if (lu == null) {
+            while (!cholesky.isComplete() && System.nanoTime() - start < STEP_BUDGET_NANOS) {
+                cholesky.advance();
+            }
+            if (cholesky.isComplete()) {
+                if (cholesky.isPositiveDefinite()) {
+                    cholesky.solve(b, solution);
+                    finished = true;
+                } else {
+                    lu = new LuFactorization(a);
+                    cholesky = null;
+                }
+            }
+        } else {
+            lu.advanceBlock(BlockedLuSolver.DEFAULT_BLOCK_SIZE);
+            if (lu.isComplete()) {
+                if (lu.isSingular()) {
+                    throw new IllegalArgumentException("Sistema singular o mal condicionado");
+                }
+                lu.solve(b, solution);
+                finished = true;
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return Math.max(1L, elapsed);
+    }
+
+    @Override
+    public double[] currentResult() {
+        return Arrays.copyOf(solution, solution.length);
+    }
+}
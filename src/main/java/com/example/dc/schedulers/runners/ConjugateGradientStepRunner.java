@@ -0,0 +1,74 @@
+package com.example.dc.schedulers.runners;
+
+import com.example.dc.domain.DenseMatrix;
+import com.example.dc.patterns.solver.ConjugateGradient;
+import com.example.dc.patterns.solver.ConjugateGradientSolver;
+import com.example.dc.schedulers.StepRunner;
+
+import java.util.Arrays;
+
+/**
+ * Cada paso ejecuta iteraciones de CG hasta consumir ~1 ms, de modo que un quantum de Round Robin equivale a
+ * un número de iteraciones; {@link #currentResult()} expone la aproximación parcial.
+ */
+public class ConjugateGradientStepRunner implements StepRunner {
+
+    private static final long STEP_BUDGET_NANOS = 1_000_000L;
+
+    private final ConjugateGradient cg;
+    private final double[] solution;
+    private boolean finished;
+
+    public ConjugateGradientStepRunner(double[][] a, double[] b) {
+        this(a, b, new ConjugateGradientSolver());
+    }
+
+    public ConjugateGradientStepRunner(double[][] a, double[] b, ConjugateGradientSolver solver) {
+        this(solver.start(a, b), b.length);
+    }
+
+    public ConjugateGradientStepRunner(DenseMatrix a, double[] b) {
+        this(new ConjugateGradientSolver().start(a, b), b.length);
+    }
+
+    private ConjugateGradientStepRunner(ConjugateGradient cg, int size) {
+        this.cg = cg;
+        this.solution = new double[size];
+        this.finished = size == 0;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public long runNextStep() {
+        if (isFinished()) {
+            return 0L;
+        }
+        long start = System.nanoTime();
+        do {
+            cg.iterate();
+        } while (!cg.isComplete() && System.nanoTime() - start < STEP_BUDGET_NANOS);
+        cg.copySolution(solution);
+        if (cg.isComplete()) {
+            finished = true;
+            if (!cg.isConverged()) {
+                throw new IllegalArgumentException(String.format(
+                        "CG no convergió en %d iteraciones (residual relativo %.3e)", cg.iterations(), cg.relativeResidual()));
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return Math.max(1L, elapsed);
+    }
+
+    public int iterations() {
+        return cg.iterations();
+    }
+
+    @Override
+    public double[] currentResult() {
+        return Arrays.copyOf(solution, solution.length);
+    }
+}
@@ -1,32 +1,47 @@
 package com.example.dc.schedulers.runners;
 
+import com.example.dc.patterns.solver.LuFactorization;
 import com.example.dc.schedulers.StepRunner;
 
 import java.util.Arrays;
 
+/**
+ * Cramer incremental: avanza la factorización LU de A columna a columna y, al terminar, obtiene todos los
+ * cocientes det(A_i)/det(A) de una sola sustitución. Todos los buffers se reservan en el constructor, de modo
+ * que {@link #runNextStep()} no genera basura.
+ */
 public class CramerStepRunner implements StepRunner {
 
     private static final double EPS = 1e-12;
+    /** Trabajo máximo aproximado por paso, para que cada paso quepa holgado en un quantum de Round Robin. */
+    private static final long STEP_BUDGET_NANOS = 1_000_000L;
 
-    private final double[][] a;
+    private final LuFactorization lu;
     private final double[] b;
     private final double[] solution;
-    private final double detA;
-    private int nextColumn = 0;
+    private boolean finished;
 
     public CramerStepRunner(double[][] a, double[] b) {
-        this.a = deepCopy(a);
+        this(checkedFactorization(a, b), b);
+    }
+
+    /**
+     * @param lu factorización de A, nueva o ya terminada (por ejemplo, tomada de la caché de factorizaciones);
+     *           en el segundo caso el primer paso solo resuelve.
+     */
+    public CramerStepRunner(LuFactorization lu, double[] b) {
+        if (lu.size() != b.length) {
+            throw new IllegalArgumentException("La matriz A debe ser cuadrada y del mismo tamaño que b");
+        }
+        this.lu = lu;
         this.b = b.clone();
         this.solution = new double[b.length];
-        this.detA = determinant(this.a);
-        if (Math.abs(detA) < EPS) {
-            throw new IllegalArgumentException("Determinante demasiado pequeño para resolver con Cramer");
-        }
+        this.finished = b.length == 0;
     }
 
     @Override
     public boolean isFinished() {
-        return nextColumn >= b.length;
+        return finished;
     }
 
     @Override
@@ -35,10 +50,12 @@ public class CramerStepRunner implements StepRunner {
             return 0L;
         }
         long start = System.nanoTime();
-        double[][] modified = replaceColumn(a, b, nextColumn);
-        double detAi = determinant(modified);
-        solution[nextColumn] = detAi / detA;
-        nextColumn++;
+        while (!lu.isComplete() && System.nanoTime() - start < STEP_BUDGET_NANOS) {
+            lu.advance();
+        }
+        if (lu.isComplete()) {
+            solveNumerators();
+        }
         long elapsed = (System.nanoTime() - start) / 1_000_000;
         return Math.max(1L, elapsed);
     }
@@ -48,49 +65,19 @@ public class CramerStepRunner implements StepRunner {
         return Arrays.copyOf(solution, solution.length);
     }
 
-    private double[][] replaceColumn(double[][] original, double[] b, int column) {
-        double[][] copy = deepCopy(original);
-        for (int row = 0; row < original.length; row++) {
-            copy[row][column] = b[row];
+    private static LuFactorization checkedFactorization(double[][] a, double[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("La matriz A debe ser cuadrada y del mismo tamaño que b");
         }
-        return copy;
+        return new LuFactorization(a);
     }
 
-    private double[][] deepCopy(double[][] matrix) {
-        return Arrays.stream(matrix)
-                .map(double[]::clone)
-                .toArray(double[][]::new);
-    }
-
-    private double determinant(double[][] matrix) {
-        int n = matrix.length;
-        double[][] m = deepCopy(matrix);
-        double det = 1.0;
-        for (int i = 0; i < n; i++) {
-            int pivot = i;
-            for (int j = i + 1; j < n; j++) {
-                if (Math.abs(m[j][i]) > Math.abs(m[pivot][i])) {
-                    pivot = j;
-                }
-            }
-            if (Math.abs(m[pivot][i]) < EPS) {
-                return 0.0;
-            }
-            if (pivot != i) {
-                double[] temp = m[i];
-                m[i] = m[pivot];
-                m[pivot] = temp;
-                det *= -1;
-            }
-            det *= m[i][i];
-            double pivotValue = m[i][i];
-            for (int j = i + 1; j < n; j++) {
-                double factor = m[j][i] / pivotValue;
-                for (int k = i; k < n; k++) {
-                    m[j][k] -= factor * m[i][k];
-                }
-            }
+    private void solveNumerators() {
+        if (Math.abs(lu.determinant()) < EPS) {
+            throw new IllegalArgumentException("Determinante demasiado pequeño para resolver con Cramer");
         }
-        return det;
+        // det(A_i)/det(A) = (A⁻¹·b)_i por el lema del determinante (ver CramerSolver)
+        lu.solve(b, solution);
+        finished = true;
     }
 }
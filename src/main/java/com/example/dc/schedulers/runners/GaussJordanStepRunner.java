@@ -1,5 +1,8 @@
 package com.example.dc.schedulers.runners;
 
+import com.example.dc.domain.DenseMatrix;
+import com.example.dc.patterns.solver.Kernels;
+import com.example.dc.patterns.solver.ParallelRows;
 import com.example.dc.schedulers.StepRunner;
 
 import java.util.Arrays;
@@ -8,13 +11,19 @@ public class GaussJordanStepRunner implements StepRunner {
 
     private static final double EPS = 1e-12;
 
+    private final Kernels kernels = Kernels.active();
+
     private final double[][] augmented;
     private final int n;
     private int pivotIndex = 0;
     private boolean finished;
 
     public GaussJordanStepRunner(double[][] a, double[] b) {
-        this.n = a.length;
+        this(DenseMatrix.of(a), b);
+    }
+
+    public GaussJordanStepRunner(DenseMatrix a, double[] b) {
+        this.n = a.size();
         this.augmented = buildAugmentedMatrix(a, b);
         this.finished = n == 0;
     }
@@ -57,14 +66,12 @@ public class GaussJordanStepRunner implements StepRunner {
         return Arrays.copyOf(current, current.length);
     }
 
-    private double[][] buildAugmentedMatrix(double[][] a, double[] b) {
-        double[][] augmented = new double[a.length][a.length + 1];
-        for (int i = 0; i < a.length; i++) {
-            if (a[i].length != a.length) {
-                throw new IllegalArgumentException("La matriz A debe ser cuadrada");
-            }
-            System.arraycopy(a[i], 0, augmented[i], 0, a.length);
-            augmented[i][a.length] = b[i];
+    private double[][] buildAugmentedMatrix(DenseMatrix a, double[] b) {
+        int size = a.size();
+        double[][] augmented = new double[size][size + 1];
+        for (int i = 0; i < size; i++) {
+            a.copyRow(i, 0, augmented[i], 0, size);
+            augmented[i][size] = b[i];
         }
         return augmented;
     }
@@ -91,25 +98,32 @@ public class GaussJordanStepRunner implements StepRunner {
     private void normalizeRow(double[][] matrix, int row, int pivotColumn) {
         double pivot = matrix[row][pivotColumn];
         int cols = matrix[row].length;
-        for (int col = 0; col < cols; col++) {
-            matrix[row][col] /= pivot;
-        }
+        kernels.divide(pivot, matrix[row], 0, cols);
     }
 
     private void eliminateColumn(double[][] matrix, int pivotRow, int pivotColumn) {
         int rows = matrix.length;
         int cols = matrix[pivotRow].length;
-        for (int row = 0; row < rows; row++) {
+        if (ParallelRows.enabled(rows)) {
+            ParallelRows.forRange(0, rows, 2 * cols, (from, to) -> eliminateRows(matrix, pivotRow, pivotColumn, from, to));
+        } else {
+            eliminateRows(matrix, pivotRow, pivotColumn, 0, rows);
+        }
+    }
+
+    private void eliminateRows(double[][] matrix, int pivotRow, int pivotColumn, int fromRow, int toRow) {
+        int cols = matrix[pivotRow].length;
+        double[] pivot = matrix[pivotRow];
+        for (int row = fromRow; row < toRow; row++) {
             if (row == pivotRow) {
                 continue;
             }
-            double factor = matrix[row][pivotColumn];
+            double[] target = matrix[row];
+            double factor = target[pivotColumn];
             if (Math.abs(factor) < EPS) {
                 continue;
             }
-            for (int col = 0; col < cols; col++) {
-                matrix[row][col] -= factor * matrix[pivotRow][col];
-            }
+            kernels.axpy(-factor, pivot, 0, target, 0, cols);
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.example.dc.schedulers.runners;
 
+import com.example.dc.domain.DenseMatrix;
 import com.example.dc.patterns.solver.LibrarySolver;
 import com.example.dc.schedulers.StepRunner;
 
@@ -7,7 +8,7 @@ import java.util.Arrays;
 
 public class LibraryStepRunner implements StepRunner {
 
-    private final double[][] a;
+    private final DenseMatrix a;
     private final double[] b;
     private final double[] solution;
     private final LibrarySolver solver = new LibrarySolver();
@@ -15,7 +16,11 @@ public class LibraryStepRunner implements StepRunner {
     private boolean finished = false;
 
     public LibraryStepRunner(double[][] a, double[] b) {
-        this.a = deepCopy(a);
+        this(DenseMatrix.of(a), b);
+    }
+
+    public LibraryStepRunner(DenseMatrix a, double[] b) {
+        this.a = a;
         this.b = b.clone();
         this.solution = new double[b.length];
     }
@@ -43,9 +48,10 @@ public class LibraryStepRunner implements StepRunner {
 
     private void simulatePreparation() {
         double checksum = 0.0;
-        for (double[] row : a) {
-            for (double value : row) {
-                checksum += value * 0.00001;
+        int n = a.size();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                checksum += a.get(i, j) * 0.00001;
             }
         }
         if (Double.isNaN(checksum)) {
@@ -66,10 +72,4 @@ public class LibraryStepRunner implements StepRunner {
     public double[] currentResult() {
         return Arrays.copyOf(solution, solution.length);
     }
-
-    private double[][] deepCopy(double[][] matrix) {
-        return Arrays.stream(matrix)
-                .map(double[]::clone)
-                .toArray(double[][]::new);
-    }
 }
@@ -0,0 +1,55 @@
+package com.example.dc.schedulers.runners;
+
+import com.example.dc.domain.DenseMatrix;
+import com.example.dc.patterns.solver.MixedPrecisionRefinement;
+import com.example.dc.schedulers.StepRunner;
+
+import java.util.Arrays;
+
+/**
+ * Avanza bloques de la LU en float y pasos de refinamiento en double hasta consumir ~1 ms por paso.
+ */
+public class MixedPrecisionStepRunner implements StepRunner {
+
+    private static final long STEP_BUDGET_NANOS = 1_000_000L;
+
+    private final MixedPrecisionRefinement refinement;
+    private final double[] solution;
+    private boolean finished;
+
+    public MixedPrecisionStepRunner(double[][] a, double[] b) {
+        this(DenseMatrix.of(a), b);
+    }
+
+    public MixedPrecisionStepRunner(DenseMatrix a, double[] b) {
+        this.refinement = new MixedPrecisionRefinement(a, b);
+        this.solution = new double[b.length];
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public long runNextStep() {
+        if (isFinished()) {
+            return 0L;
+        }
+        long start = System.nanoTime();
+        while (!refinement.isComplete() && System.nanoTime() - start < STEP_BUDGET_NANOS) {
+            refinement.advance();
+        }
+        if (refinement.isComplete()) {
+            refinement.copySolution(solution);
+            finished = true;
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return Math.max(1L, elapsed);
+    }
+
+    @Override
+    public double[] currentResult() {
+        return Arrays.copyOf(solution, solution.length);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.dc.schedulers.runners;
+
+import com.example.dc.patterns.solver.OffHeapLuFactorization;
+import com.example.dc.schedulers.StepRunner;
+
+import java.util.Arrays;
+
+/**
+ * Como {@link BlockedLuStepRunner}, un bloque de columnas por paso; la factorización fuera del heap se libera en
+ * cuanto hay solución o el paso falla, sin esperar al GC. Si el job se cancela o nunca corre, la libera
+ * {@link #close()}.
+ */
+public class OffHeapLuStepRunner implements StepRunner, AutoCloseable {
+
+    private final OffHeapLuFactorization lu;
+    private final double[] b;
+    private final double[] solution;
+    private final int blockSize;
+    private boolean finished;
+
+    public OffHeapLuStepRunner(OffHeapLuFactorization lu, double[] b, int blockSize) {
+        if (lu.size() != b.length) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        this.lu = lu;
+        this.b = b.clone();
+        this.solution = new double[b.length];
+        this.blockSize = blockSize;
+        this.finished = b.length == 0;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public long runNextStep() {
+        if (isFinished()) {
+            return 0L;
+        }
+        long start = System.nanoTime();
+        try {
+            lu.advanceBlock(blockSize);
+            if (lu.isComplete()) {
+                if (lu.isSingular()) {
+                    throw new IllegalArgumentException("Sistema singular o mal condicionado");
+                }
+                lu.solve(b, solution);
+                finished = true;
+                lu.close();
+            }
+        } catch (RuntimeException e) {
+            lu.close();
+            throw e;
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return Math.max(1L, elapsed);
+    }
+
+    @Override
+    public double[] currentResult() {
+        return Arrays.copyOf(solution, solution.length);
+    }
+
+    /** Libera la factorización; llamadas repetidas no tienen efecto. */
+    @Override
+    public void close() {
+        lu.close();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.dc.schedulers.runners;
+
+import com.example.dc.domain.CsrMatrix;
+import com.example.dc.patterns.solver.SparseLuFactorization;
+import com.example.dc.schedulers.StepRunner;
+
+import java.util.Arrays;
+
+/**
+ * Avanza columnas del LU disperso hasta consumir ~1 ms por paso; el ordenamiento se calcula al construir.
+ */
+public class SparseLuStepRunner implements StepRunner {
+
+    private static final long STEP_BUDGET_NANOS = 1_000_000L;
+
+    private final SparseLuFactorization lu;
+    private final double[] b;
+    private final double[] solution;
+    private boolean finished;
+
+    public SparseLuStepRunner(CsrMatrix a, double[] b) {
+        this(new SparseLuFactorization(a), b);
+    }
+
+    public SparseLuStepRunner(SparseLuFactorization lu, double[] b) {
+        if (lu.size() != b.length) {
+            throw new IllegalArgumentException("Dimensiones inválidas");
+        }
+        this.lu = lu;
+        this.b = b.clone();
+        this.solution = new double[b.length];
+        this.finished = b.length == 0;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public long runNextStep() {
+        if (isFinished()) {
+            return 0L;
+        }
+        long start = System.nanoTime();
+        while (!lu.isComplete() && System.nanoTime() - start < STEP_BUDGET_NANOS) {
+            lu.advance();
+        }
+        if (lu.isComplete()) {
+            if (lu.isSingular()) {
+                throw new IllegalArgumentException("Sistema singular o mal condicionado");
+            }
+            lu.solve(b, solution);
+            finished = true;
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return Math.max(1L, elapsed);
+    }
+
+    @Override
+    public double[] currentResult() {
+        return Arrays.copyOf(solution, solution.length);
+    }
+}
@@ -20,6 +20,30 @@ public final class Config {
 
     private static final int PARALLELISM = computeParallelism();
 
+    private static final int PARALLEL_SOLVE_MIN_SIZE = computeParallelSolveMinSize();
+
+    private static final boolean SIMD_REQUESTED = computeSimdRequested();
+
+    private static final long FACTORIZATION_CACHE_BYTES = computeFactorizationCacheBytes();
+
+    private static final int OFF_HEAP_MIN_SIZE = computeOffHeapMinSize();
+
+    private static final boolean VIRTUAL_THREADS = computeVirtualThreads();
+
+    private static final int ADMISSION_MAX_JOBS =
+            (int) Math.min(Integer.MAX_VALUE, longFromEnv("DC_ADMISSION_MAX_JOBS", 8L * PARALLELISM));
+
+    private static final long ADMISSION_MAX_BYTES =
+            longFromEnv("DC_ADMISSION_MAX_MB", Runtime.getRuntime().maxMemory() / 2 / (1024 * 1024)) * 1024 * 1024;
+
+    private static final int ADMISSION_QUEUE_SIZE = (int) Math.min(Integer.MAX_VALUE, longFromEnv("DC_ADMISSION_QUEUE", 64L));
+
+    private static final long ADMISSION_WAIT_MS = longFromEnv("DC_ADMISSION_WAIT_MS", 2_000L);
+
+    private static final long UPLOAD_MAX_BYTES = longFromEnv("DC_UPLOAD_MAX_MB", 4_096L) * 1024 * 1024;
+
+    private static final long JSON_MAX_BYTES = longFromEnv("DC_JSON_MAX_MB", 32L) * 1024 * 1024;
+
     public static int scenarioSize(String name) {
         if (name == null) {
             return -1;
@@ -31,6 +55,81 @@ public final class Config {
         return PARALLELISM;
     }
 
+    /**
+     * Tamaño mínimo de sistema a partir del cual una sola resolución reparte la eliminación entre varios hilos.
+     */
+    public static int parallelSolveMinSize() {
+        return PARALLEL_SOLVE_MIN_SIZE;
+    }
+
+    /**
+     * Indica si se pidieron núcleos Vector API ({@code -Ddc.simd=vector} o {@code DC_SIMD=vector}).
+     */
+    public static boolean simdRequested() {
+        return SIMD_REQUESTED;
+    }
+
+    /**
+     * Memoria máxima de la caché de factorizaciones ({@code DC_FACTOR_CACHE_MB}, 256 MB por defecto; 0 la desactiva).
+     */
+    public static long factorizationCacheBytes() {
+        return FACTORIZATION_CACHE_BYTES;
+    }
+
+    /**
+     * Tamaño mínimo de sistema denso a partir del cual A se guarda fuera del heap ({@code DC_OFFHEAP_MIN_N}, 10000 por
+     * defecto; 0 lo desactiva). Requiere {@code --enable-preview}; sin la vista previa queda desactivado. Solo aplica a
+     * los circuitos binarios de /solve_binary: los que llegan en JSON ya están enteros en el heap.
+     */
+    public static int offHeapMinSize() {
+        return OFF_HEAP_MIN_SIZE;
+    }
+
+    /**
+     * Indica si se pidieron hilos virtuales ({@code -Ddc.virtual-threads=true} o {@code DC_VIRTUAL_THREADS=true}) para
+     * los planificadores; las peticiones HTTP los usan con {@code spring.threads.virtual.enabled}, que toma el mismo
+     * valor.
+     */
+    public static boolean virtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
+    /** Jobs que pueden estar en curso entre todas las peticiones ({@code DC_ADMISSION_MAX_JOBS}, 8 por hilo). */
+    public static int admissionMaxJobs() {
+        return ADMISSION_MAX_JOBS;
+    }
+
+    /**
+     * Memoria de matrices que pueden ocupar las peticiones en curso ({@code DC_ADMISSION_MAX_MB}, la mitad del heap
+     * máximo por defecto).
+     */
+    public static long admissionMaxBytes() {
+        return ADMISSION_MAX_BYTES;
+    }
+
+    /** Peticiones que pueden esperar turno antes de rechazar con 429 ({@code DC_ADMISSION_QUEUE}, 64; 0 no espera). */
+    public static int admissionQueueSize() {
+        return ADMISSION_QUEUE_SIZE;
+    }
+
+    /** Espera máxima de una petición síncrona antes de rechazarla ({@code DC_ADMISSION_WAIT_MS}, 2000). */
+    public static long admissionWaitMs() {
+        return ADMISSION_WAIT_MS;
+    }
+
+    /** Tamaño máximo de un circuito binario subido a /solve_binary ({@code DC_UPLOAD_MAX_MB}, 4096). */
+    public static long uploadMaxBytes() {
+        return UPLOAD_MAX_BYTES;
+    }
+
+    /**
+     * Tamaño máximo de un cuerpo JSON ({@code DC_JSON_MAX_MB}, 32). Jackson arma la matriz completa antes de que la
+     * petición pase por admisión, así que este límite es lo que acota esa memoria.
+     */
+    public static long jsonMaxBytes() {
+        return JSON_MAX_BYTES;
+    }
+
     private static int computeParallelism() {
         int available = Runtime.getRuntime().availableProcessors();
         int baseline = Math.max(1, available - 1);
@@ -47,6 +146,102 @@ public final class Config {
         return baseline;
     }
 
+    private static int computeParallelSolveMinSize() {
+        String override = System.getenv("DC_PARALLEL_SOLVE_MIN_N");
+        if (override != null && !override.isBlank()) {
+            try {
+                int value = Integer.parseInt(override.trim());
+                return value > 0 ? value : Integer.MAX_VALUE;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return 80;
+    }
+
+    private static long computeFactorizationCacheBytes() {
+        String override = System.getenv("DC_FACTOR_CACHE_MB");
+        if (override != null && !override.isBlank()) {
+            try {
+                long value = Long.parseLong(override.trim());
+                return Math.max(0L, value) * 1024 * 1024;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return 256L * 1024 * 1024;
+    }
+
+    private static int computeOffHeapMinSize() {
+        int size = 10_000;
+        String override = System.getenv("DC_OFFHEAP_MIN_N");
+        if (override != null && !override.isBlank()) {
+            try {
+                int value = Integer.parseInt(override.trim());
+                size = value > 0 ? value : Integer.MAX_VALUE;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        if (size != Integer.MAX_VALUE && !previewEnabled()) {
+            if (override != null && !override.isBlank()) {
+                System.err.println("WARN DC_OFFHEAP_MIN_N requiere --enable-preview; se ignora");
+            }
+            return Integer.MAX_VALUE;
+        }
+        return size;
+    }
+
+    /** Las clases que usan APIs en vista previa no se pueden cargar si la JVM arrancó sin {@code --enable-preview}. */
+    private static boolean previewEnabled() {
+        try {
+            Class.forName("com.example.dc.domain.OffHeapMatrix", false, Config.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean computeVirtualThreads() {
+        String value = System.getProperty("dc.virtual-threads");
+        if (value == null || value.isBlank()) {
+            value = System.getenv("DC_VIRTUAL_THREADS");
+        }
+        if (value == null) {
+            return false;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "on", "1" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean computeSimdRequested() {
+        String value = System.getProperty("dc.simd");
+        if (value == null || value.isBlank()) {
+            value = System.getenv("DC_SIMD");
+        }
+        if (value == null) {
+            return false;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "vector", "simd", "true", "on", "1" -> true;
+            default -> false;
+        };
+    }
+
+    /** Valor entero no negativo de {@code name}; {@code fallback} si falta o no es válido. */
+    private static long longFromEnv(String name, long fallback) {
+        String override = System.getenv(name);
+        if (override != null && !override.isBlank()) {
+            try {
+                long value = Long.parseLong(override.trim());
+                if (value >= 0) {
+                    return value;
+                }
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return fallback;
+    }
+
     private static Path resolveJobLogPath() {
         String dir = System.getProperty("app.metrics.dir");
         if (dir == null || dir.isBlank()) {
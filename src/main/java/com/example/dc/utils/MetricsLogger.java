@@ -8,22 +8,53 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 @Component
 public class MetricsLogger {
 
-    public synchronized void log(Result result, String scheduler, String scenario, double residual) {
+    /** Columnas de {@code jobs_log.csv} en el orden en que se escriben. */
+    public static final List<String> COLUMNS = List.of("ts", "job_id", "method", "scheduler", "scenario",
+            "elapsed_ms", "waiting_ms", "turnaround_ms", "cpu_pct", "mem_mb", "ctx_voluntary", "ctx_involuntary",
+            "io_read_bytes", "io_write_bytes", "residual", "n", "cached");
+
+    private static final String HEADER = String.join(",", COLUMNS);
+
+    private static final DateTimeFormatter ROTATION_STAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+
+    /** Archivo cuya cabecera ya se comprobó, para no releerla en cada fila. */
+    private Path checkedPath;
+
+    /**
+     * Agrega una fila a {@code jobs_log.csv}; {@code size} es el n del sistema, que usa {@code CostModel} para
+     * aprender el costo de cada método, y {@code cached} indica que la factorización salió de la caché: esas filas
+     * no miden el método y {@code CostModel} las descarta. Los números van siempre con punto decimal para que el CSV se pueda volver a
+     * leer en cualquier locale. Si el archivo existente tiene otra cabecera (un formato anterior), se aparta con
+     * {@link #rotatedPath} y se empieza uno nuevo, para no mezclar filas de distinto formato bajo la misma cabecera.
+     */
+    public synchronized void log(Result result, String scheduler, String scenario, double residual, int size,
+                                 boolean cached) {
         Path path = Config.JOB_LOG_PATH;
         try {
             Files.createDirectories(path.getParent());
             boolean writeHeader = Files.notExists(path) || Files.size(path) == 0;
+            if (!writeHeader && !path.equals(checkedPath) && !HEADER.equals(firstLine(path))) {
+                Files.move(path, rotatedPath(path, Instant.now()));
+                writeHeader = true;
+            }
+            checkedPath = path;
             try (var writer = Files.newBufferedWriter(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
                 if (writeHeader) {
-                    writer.write("ts,job_id,method,scheduler,scenario,elapsed_ms,waiting_ms,turnaround_ms,cpu_pct,mem_mb,ctx_voluntary,ctx_involuntary,io_read_bytes,io_write_bytes,residual\n");
+                    writer.write(HEADER + "\n");
                 }
                 SystemMetrics.Metrics metrics = SystemMetrics.snapshot();
-                writer.write(String.format(
-                        "%s,%s,%s,%s,%s,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.6e%n",
+                writer.write(String.format(Locale.ROOT,
+                        "%s,%s,%s,%s,%s,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.6e,%d,%b%n",
                         Instant.now(),
                         result.getJobId(),
                         result.getMethodName(),
@@ -38,7 +69,9 @@ public class MetricsLogger {
                         metrics.contextSwitchesInvoluntary(),
                         metrics.ioReadBytes(),
                         metrics.ioWriteBytes(),
-                        residual
+                        residual,
+                        size,
+                        cached
                 ));
             }
         } catch (IOException ex) {
@@ -46,6 +79,41 @@ public class MetricsLogger {
         }
     }
 
+    /**
+     * Historiales apartados al cambiar el formato de {@code log}, del más viejo al más nuevo; el nombre lleva la
+     * fecha de la rotación, así que el orden alfabético es el cronológico.
+     */
+    public static List<Path> rotatedLogs(Path log) {
+        List<Path> rotated = new ArrayList<>();
+        Path dir = log.toAbsolutePath().getParent();
+        if (dir == null || !Files.isDirectory(dir)) {
+            return rotated;
+        }
+        try (var files = Files.newDirectoryStream(dir, stem(log) + ".*.csv")) {
+            files.forEach(rotated::add);
+        } catch (IOException ex) {
+            return List.of();
+        }
+        rotated.sort(null);
+        return rotated;
+    }
+
+    static Path rotatedPath(Path log, Instant when) {
+        return log.resolveSibling(stem(log) + "." + ROTATION_STAMP.format(when) + ".csv");
+    }
+
+    private static String stem(Path log) {
+        String name = log.getFileName().toString();
+        return name.endsWith(".csv") ? name.substring(0, name.length() - 4) : name;
+    }
+
+    private static String firstLine(Path path) throws IOException {
+        try (var reader = Files.newBufferedReader(path)) {
+            String line = reader.readLine();
+            return line == null ? "" : line.trim();
+        }
+    }
+
     private String sanitizeScheduler(String scheduler) {
         if (scheduler == null || scheduler.isBlank()) {
             return "unknown";
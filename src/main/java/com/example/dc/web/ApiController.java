@@ -1,9 +1,13 @@
 package com.example.dc.web;
 
+import com.example.dc.controller.AdmissionControl;
+import com.example.dc.controller.AsyncSolve;
 import com.example.dc.controller.Controller;
+import com.example.dc.domain.BinaryCircuitFormat;
 import com.example.dc.domain.CircuitManager;
 import com.example.dc.domain.CircuitPhysicalModel;
 import com.example.dc.domain.CircuitSpec;
+import com.example.dc.domain.CsrMatrix;
 import com.example.dc.domain.ParallelCircuitModel;
 import com.example.dc.domain.PhysicalSolveRequest;
 import com.example.dc.domain.SchedulerType;
@@ -11,17 +15,34 @@ import com.example.dc.domain.ScenarioType;
 import com.example.dc.domain.SeriesCircuitModel;
 import com.example.dc.domain.components.Resistor;
 import com.example.dc.domain.components.VoltageSource;
+import com.example.dc.dto.MultiSolveRequest;
 import com.example.dc.dto.SolveRequest;
+import com.example.dc.patterns.solver.FactorizationCache;
+import com.example.dc.schedulers.Job;
+import com.example.dc.schedulers.SchedulerExecutor;
+import com.example.dc.utils.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -46,13 +67,24 @@ public class ApiController {
         );
     }
 
+    /**
+     * Con {@code budgetMs} (latencia máxima) o {@code deadline} (instante ISO-8601) y {@code sched=edf}, los métodos
+     * que no llegarían a tiempo se reemplazan por el más rápido. Con {@code race=true} responde solo el primer método
+     * que termina con residual aceptable y cancela los demás. Con {@code method} corre un solo método; {@code auto} lo
+     * elige según la estructura de A y el historial de tiempos.
+     */
     @PostMapping("/solve")
     public ResponseEntity<Map<String, Object>> solveScenario(@RequestParam("sched") String scheduler,
-                                                              @RequestParam("scenario") String scenario) {
+                                                              @RequestParam("scenario") String scenario,
+                                                              @RequestParam(value = "budgetMs", required = false) Long budgetMs,
+                                                              @RequestParam(value = "deadline", required = false) String deadline,
+                                                              @RequestParam(value = "race", defaultValue = "false") boolean race,
+                                                              @RequestParam(value = "method", required = false) String method) {
         SchedulerType schedulerType = SchedulerType.from(scheduler);
         ScenarioType scenarioType = ScenarioType.from(scenario);
-        log.info("/solve sched={} scenario={}", schedulerType.code(), scenarioType.code());
-        List<Controller.ComputedResult> results = controller.runScenario(schedulerType, scenarioType);
+        Controller.SolveOptions options = new Controller.SolveOptions(latencyBudget(budgetMs, deadline), race, method);
+        log.info("/solve sched={} scenario={} options={}", schedulerType.code(), scenarioType.code(), options);
+        List<Controller.ComputedResult> results = controller.runScenario(schedulerType, scenarioType, options);
         return ResponseEntity.ok(successPayload(results));
     }
 
@@ -62,13 +94,148 @@ public class ApiController {
             throw new IllegalArgumentException("payload requerido");
         }
         SchedulerType schedulerType = SchedulerType.from(request.getSched());
-        validateDimensions(request.getA(), request.getB());
-        String name = request.getName() != null && !request.getName().isBlank() ? request.getName() : "custom";
-        CircuitSpec spec = CircuitManager.INSTANCE.custom(name, request.getA(), request.getB());
-        List<Controller.ComputedResult> results = controller.runCustom(schedulerType, spec);
+        Controller.SolveOptions options = new Controller.SolveOptions(
+                latencyBudget(request.getBudgetMs(), request.getDeadline()),
+                Boolean.TRUE.equals(request.getRace()),
+                request.getMethod());
+        List<Controller.ComputedResult> results = controller.runCustom(schedulerType, buildCustomSpec(request), options);
         return ResponseEntity.ok(successPayload(results));
     }
 
+    /**
+     * Encola una resolución sin esperarla y responde 202 con su id. Sin cuerpo resuelve el escenario {@code scenario};
+     * con cuerpo, el circuito de /solve_custom (en ese caso {@code sched}, el plazo, {@code race} y {@code method}
+     * pueden venir en el cuerpo).
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> submitJob(@RequestParam(value = "sched", required = false) String scheduler,
+                                                         @RequestParam(value = "scenario", required = false) String scenario,
+                                                         @RequestParam(value = "budgetMs", required = false) Long budgetMs,
+                                                         @RequestParam(value = "deadline", required = false) String deadline,
+                                                         @RequestParam(value = "race", defaultValue = "false") boolean race,
+                                                         @RequestParam(value = "method", required = false) String method,
+                                                         @RequestBody(required = false) SolveRequest request) {
+        AsyncSolve solve;
+        if (request != null) {
+            SchedulerType schedulerType = SchedulerType.from(request.getSched() != null ? request.getSched() : scheduler);
+            Duration budget = latencyBudget(request.getBudgetMs() != null ? request.getBudgetMs() : budgetMs,
+                    request.getDeadline() != null ? request.getDeadline() : deadline);
+            Controller.SolveOptions options = new Controller.SolveOptions(budget,
+                    request.getRace() != null ? request.getRace() : race,
+                    request.getMethod() != null ? request.getMethod() : method);
+            solve = controller.submitCustom(schedulerType, buildCustomSpec(request), options);
+        } else {
+            if (scenario == null) {
+                throw new IllegalArgumentException("Debe indicar scenario o un circuito en el cuerpo");
+            }
+            solve = controller.submitScenario(SchedulerType.from(scheduler), ScenarioType.from(scenario),
+                    new Controller.SolveOptions(latencyBudget(budgetMs, deadline), race, method));
+        }
+        log.info("/jobs id={} sched={} scenario={}", solve.id(), solve.schedulerCode(), solve.scenarioName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header("Location", "/jobs/" + solve.id())
+                .body(asyncPayload(solve));
+    }
+
+    /** Estado de una resolución enviada a /jobs, con la solución parcial de cada método mientras corre. */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<Map<String, Object>> jobStatus(@PathVariable("id") String id) {
+        AsyncSolve solve = controller.asyncSolve(id);
+        return solve != null ? ResponseEntity.ok(asyncPayload(solve)) : jobNotFound(id);
+    }
+
+    /** Cancela los métodos que no terminaron; se detienen en el próximo límite entre pasos. */
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<Map<String, Object>> cancelJob(@PathVariable("id") String id) {
+        AsyncSolve solve = controller.cancelAsync(id);
+        return solve != null ? ResponseEntity.ok(asyncPayload(solve)) : jobNotFound(id);
+    }
+
+    /**
+     * Igual que /solve_custom pero con el circuito en el formato binario de {@link BinaryCircuitFormat}. Responde las
+     * soluciones en binario, o en JSON con {@code format=json}. Un cuerpo de más de {@link Config#uploadMaxBytes()}
+     * se rechaza con 413 por su {@code Content-Length} o por el tamaño que declara el encabezado, antes de leer A; el
+     * resto del cuerpo se lee recién cuando la petición entra en admisión.
+     */
+    @PostMapping(value = "/solve_binary", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> solveBinary(@RequestParam("sched") String scheduler,
+                                         @RequestParam(value = "name", required = false) String name,
+                                         @RequestParam(value = "format", defaultValue = "binary") String format,
+                                         @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+                                         InputStream body) throws IOException {
+        SchedulerType schedulerType = SchedulerType.from(scheduler);
+        boolean json = "json".equalsIgnoreCase(format);
+        if (!json && !"binary".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("format invalido: " + format);
+        }
+        long maxBytes = Config.uploadMaxBytes();
+        if (contentLength != null && contentLength > maxBytes) {
+            throw new PayloadTooLargeException("El circuito supera el máximo de " + maxBytes + " bytes");
+        }
+        BinaryCircuitFormat.Header header = BinaryCircuitFormat.readHeader(body);
+        if (header.totalBytes() > maxBytes) {
+            throw new PayloadTooLargeException("El circuito declara " + header.totalBytes()
+                    + " bytes y el máximo es " + maxBytes);
+        }
+        String circuitName = name != null && !name.isBlank() ? name : "custom-binary";
+        int n = header.n();
+        log.info("/solve_binary sched={} n={} sparse={} offHeap={}", schedulerType.code(), n, header.sparse(), header.offHeap());
+        List<Controller.ComputedResult> results = controller.runCustom(schedulerType, header,
+                () -> CircuitManager.INSTANCE.custom(circuitName, header, body));
+        if (json) {
+            return ResponseEntity.ok(successPayload(results));
+        }
+        List<Controller.ComputedResult> solved = results.stream()
+                .filter(result -> result.result().getSolution() != null)
+                .toList();
+        byte[] payload = BinaryCircuitFormat.writeSolutions(n,
+                solved.stream().map(result -> result.result().getMethodName()).toList(),
+                solved.stream().map(result -> result.result().getSolution()).toList(),
+                solved.stream().mapToDouble(Controller.ComputedResult::residual).toArray());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(payload.length)
+                .body(payload);
+    }
+
+    @PostMapping("/solve_multi")
+    public ResponseEntity<Map<String, Object>> solveMulti(@RequestBody MultiSolveRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("payload requerido");
+        }
+        double[][] rhs = request.getB();
+        if (rhs == null || rhs.length == 0 || rhs[0] == null) {
+            throw new IllegalArgumentException("Debe indicar al menos un vector b");
+        }
+        String name = request.getName() != null && !request.getName().isBlank() ? request.getName() : "custom-multi";
+        boolean symmetric = Boolean.TRUE.equals(request.getSymmetric());
+        CircuitSpec spec;
+        if (request.getTriplets() != null) {
+            CsrMatrix a = buildSparseMatrix(request.getN(), request.getTriplets(), rhs[0]);
+            spec = CircuitManager.INSTANCE.custom(name, a, rhs[0], symmetric);
+        } else {
+            validateDimensions(request.getA(), rhs[0]);
+            spec = CircuitManager.INSTANCE.custom(name, request.getA(), rhs[0], symmetric);
+        }
+        log.info("/solve_multi n={} rhs={} method={}", spec.size(), rhs.length, request.getMethod());
+        Controller.MultiSolveResult result = controller.runMulti(spec, rhs, request.getMethod());
+        List<Map<String, Object>> solutions = IntStream.range(0, result.solutions().length)
+                .mapToObj(c -> Map.<String, Object>of(
+                        "index", c,
+                        "residual", result.residuals()[c],
+                        "x", Arrays.stream(result.solutions()[c]).boxed().collect(Collectors.toList())
+                ))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(Map.of(
+                "ok", true,
+                "method", result.method(),
+                "scenario", result.scenarioName(),
+                "elapsedMs", result.elapsedMs(),
+                "count", solutions.size(),
+                "results", solutions
+        ));
+    }
+
     @PostMapping("/solve_physical")
     public ResponseEntity<Map<String, Object>> solvePhysical(@RequestBody PhysicalSolveRequest request) {
         if (request == null) {
@@ -82,6 +249,134 @@ public class ApiController {
         return ResponseEntity.ok(successPayload(results));
     }
 
+    @GetMapping("/cache/stats")
+    public Map<String, Object> cacheStats() {
+        FactorizationCache.Stats stats = controller.factorizationCacheStats();
+        return Map.of(
+                "ok", true,
+                "hits", stats.hits(),
+                "misses", stats.misses(),
+                "evictions", stats.evictions(),
+                "entries", stats.entries(),
+                "usedBytes", stats.usedBytes(),
+                "capacityBytes", stats.capacityBytes()
+        );
+    }
+
+    @GetMapping("/scheduler/stats")
+    public Map<String, Object> schedulerStats() {
+        SchedulerExecutor.Stats stats = controller.schedulerStats();
+        return Map.of(
+                "ok", true,
+                "virtualThreads", stats.virtualThreads(),
+                "parallelism", stats.parallelism(),
+                "activeTasks", stats.activeTasks(),
+                "queueDepth", stats.queueDepth(),
+                "submittedTasks", stats.submittedTasks(),
+                "completedTasks", stats.completedTasks(),
+                "runQueues", controller.runQueueDepths(),
+                "admission", admissionPayload(controller.admissionStats()),
+                "deadlines", controller.deadlineCounts()
+        );
+    }
+
+    /** Curvas de costo por método que usan SJF y los quanta de RR/MLFQ, con su error de predicción. */
+    @GetMapping("/scheduler/cost-model")
+    public Map<String, Object> costModel() {
+        return Map.of(
+                "ok", true,
+                "methods", controller.costModelStats()
+        );
+    }
+
+    private Map<String, Object> admissionPayload(AdmissionControl.Stats stats) {
+        return Map.of(
+                "maxJobs", stats.maxJobs(),
+                "maxBytes", stats.maxBytes(),
+                "maxQueue", stats.maxQueue(),
+                "inFlightRequests", stats.inFlightRequests(),
+                "inFlightJobs", stats.inFlightJobs(),
+                "inFlightBytes", stats.inFlightBytes(),
+                "queueDepth", stats.queueDepth(),
+                "admitted", stats.admitted(),
+                "rejected", stats.rejected()
+        );
+    }
+
+    private Map<String, Object> asyncPayload(AsyncSolve solve) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("ok", true);
+        payload.put("id", solve.id());
+        payload.put("status", solve.status().code());
+        payload.put("scheduler", solve.schedulerCode());
+        payload.put("scenario", solve.scenarioName());
+        payload.put("createdAt", solve.created().toString());
+        payload.put("jobs", solve.jobs().stream().map(this::mapJobProgress).collect(Collectors.toList()));
+        payload.put("results", mapResults(solve.results()));
+        if (solve.error() != null) {
+            payload.put("error", solve.error());
+        }
+        return payload;
+    }
+
+    private Map<String, Object> mapJobProgress(Job job) {
+        String state = job.isFinished() ? "done"
+                : job.isCancelled() ? "cancelled"
+                : job.getFirstStart() != null ? "running" : "queued";
+        double[] x = job.currentSolution();
+        return Map.of(
+                "jobId", job.getId(),
+                "method", job.getMethodName(),
+                "state", state,
+                "x", x == null ? List.of() : Arrays.stream(x).boxed().collect(Collectors.toList())
+        );
+    }
+
+    private ResponseEntity<Map<String, Object>> jobNotFound(String id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "ok", false,
+                "error", "Job inexistente: " + id
+        ));
+    }
+
+    /** Plazo de la petición como latencia desde ahora; null si no indica ninguno. */
+    private Duration latencyBudget(Long budgetMs, String deadline) {
+        if (budgetMs != null && deadline != null) {
+            throw new IllegalArgumentException("Indique budgetMs o deadline, no ambos");
+        }
+        if (budgetMs != null) {
+            if (budgetMs <= 0) {
+                throw new IllegalArgumentException("budgetMs debe ser positivo");
+            }
+            return Duration.ofMillis(budgetMs);
+        }
+        if (deadline == null) {
+            return null;
+        }
+        Instant due;
+        try {
+            due = Instant.parse(deadline);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("deadline invalido: " + deadline);
+        }
+        Duration budget = Duration.between(Instant.now(), due);
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("El deadline ya venció: " + deadline);
+        }
+        return budget;
+    }
+
+    private CircuitSpec buildCustomSpec(SolveRequest request) {
+        String name = request.getName() != null && !request.getName().isBlank() ? request.getName() : "custom";
+        boolean symmetric = Boolean.TRUE.equals(request.getSymmetric());
+        if (request.getTriplets() != null) {
+            CsrMatrix a = buildSparseMatrix(request.getN(), request.getTriplets(), request.getB());
+            return CircuitManager.INSTANCE.custom(name, a, request.getB(), symmetric);
+        }
+        validateDimensions(request.getA(), request.getB());
+        return CircuitManager.INSTANCE.custom(name, request.getA(), request.getB(), symmetric);
+    }
+
     private Map<String, Object> successPayload(List<Controller.ComputedResult> results) {
         return Map.of(
                 "ok", true,
@@ -103,6 +398,32 @@ public class ApiController {
         }
     }
 
+    private CsrMatrix buildSparseMatrix(Integer n, double[][] triplets, double[] b) {
+        if (b == null) {
+            throw new IllegalArgumentException("A y b son obligatorios");
+        }
+        int size = n != null ? n : b.length;
+        if (size <= 0 || size != b.length) {
+            throw new IllegalArgumentException("Dimensiones inconsistentes entre A y b");
+        }
+        int[] rows = new int[triplets.length];
+        int[] columns = new int[triplets.length];
+        double[] values = new double[triplets.length];
+        for (int k = 0; k < triplets.length; k++) {
+            double[] triplet = triplets[k];
+            if (triplet == null || triplet.length != 3) {
+                throw new IllegalArgumentException("Cada tripleta debe ser [fila, columna, valor]");
+            }
+            if (triplet[0] != Math.rint(triplet[0]) || triplet[1] != Math.rint(triplet[1])) {
+                throw new IllegalArgumentException("Índice no entero en tripleta " + k);
+            }
+            rows[k] = (int) triplet[0];
+            columns[k] = (int) triplet[1];
+            values[k] = triplet[2];
+        }
+        return CsrMatrix.fromTriplets(size, rows, columns, values);
+    }
+
     private List<Map<String, Object>> mapResults(List<Controller.ComputedResult> results) {
         return results.stream()
                 .map(result -> Map.of(
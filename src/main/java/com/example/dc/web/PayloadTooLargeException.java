@@ -0,0 +1,9 @@
+package com.example.dc.web;
+
+/** El cuerpo de la petición supera el tamaño permitido; la API responde 413 sin terminar de leerlo. */
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
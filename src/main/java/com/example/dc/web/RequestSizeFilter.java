@@ -0,0 +1,156 @@
+package com.example.dc.web;
+
+import com.example.dc.utils.Config;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rechaza los cuerpos JSON de más de {@link Config#jsonMaxBytes()} antes de que Jackson arme la matriz: en los POST
+ * a /solve_custom, /solve_multi y /jobs el {@code double[][]} existe completo antes de pasar por admisión. Con
+ * {@code Content-Length} se rechaza sin leer; sin él (cuerpos por partes) el límite se controla mientras Jackson lee y
+ * la lectura se corta con {@link PayloadTooLargeException} al pasarlo.
+ */
+@Component
+public class RequestSizeFilter extends OncePerRequestFilter {
+
+    private static final Set<String> MATRIX_PATHS = Set.of("/solve_custom", "/solve_multi", "/jobs");
+
+    private final ObjectMapper mapper;
+
+    public RequestSizeFilter(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String contentType = request.getContentType();
+        if (!"POST".equals(request.getMethod()) || !MATRIX_PATHS.contains(path) || contentType == null) {
+            return true;
+        }
+        try {
+            return !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        long maxBytes = Config.jsonMaxBytes();
+        if (length > maxBytes) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "El cuerpo JSON supera el máximo de " + maxBytes + " bytes");
+            return;
+        }
+        chain.doFilter(length < 0 ? new LimitedRequest(request, maxBytes) : request, response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getOutputStream(), Map.of("ok", false, "error", message));
+    }
+
+    /** Petición sin {@code Content-Length} cuyo cuerpo se corta al pasar {@code maxBytes}. */
+    private static final class LimitedRequest extends HttpServletRequestWrapper {
+        private final long maxBytes;
+        private ServletInputStream limited;
+
+        LimitedRequest(HttpServletRequest request, long maxBytes) {
+            super(request);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (limited == null) {
+                limited = new LimitedInputStream(super.getInputStream(), maxBytes);
+            }
+            return limited;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    private static final class LimitedInputStream extends ServletInputStream {
+        private final ServletInputStream in;
+        private final long maxBytes;
+        private long read;
+
+        LimitedInputStream(ServletInputStream in, long maxBytes) {
+            this.in = in;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = in.read();
+            if (value >= 0) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = in.read(buffer, offset, length);
+            if (count > 0) {
+                count(count);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return in.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            in.setReadListener(listener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private void count(int bytes) {
+            read += bytes;
+            if (read > maxBytes) {
+                throw new PayloadTooLargeException("El cuerpo JSON supera el máximo de " + maxBytes + " bytes");
+            }
+        }
+    }
+}
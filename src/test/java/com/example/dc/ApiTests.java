@@ -1,6 +1,8 @@
 package com.example.dc;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.data.Offset;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,9 +11,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -26,14 +33,14 @@ class ApiTests {
     private final ObjectMapper mapper = new ObjectMapper();
 
     @Test
-    void solveEndpointReturnsThreeResultsForEachScheduler() throws Exception {
-        for (String scheduler : List.of("fcfs", "sjf", "rr")) {
+    void solveEndpointReturnsOneResultPerDefaultSolverForEachScheduler() throws Exception {
+        for (String scheduler : List.of("fcfs", "sjf", "rr", "ws", "mlfq", "edf")) {
             mockMvc.perform(post("/solve")
                             .param("sched", scheduler)
                             .param("scenario", "simple"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.ok").value(true))
-                    .andExpect(jsonPath("$.results", Matchers.hasSize(3)))
+                    .andExpect(jsonPath("$.results", Matchers.hasSize(4)))
                     .andExpect(jsonPath("$.results[0].residual").isNumber())
                     .andExpect(jsonPath("$.results[0].waitingMs").isNumber())
                     .andExpect(jsonPath("$.results[0].turnaroundMs").isNumber())
@@ -42,6 +49,40 @@ class ApiTests {
         }
     }
 
+    @Test
+    void jobsEndpointRunsInBackgroundAndReportsResults() throws Exception {
+        String accepted = mockMvc.perform(post("/jobs")
+                        .param("sched", "rr")
+                        .param("scenario", "medio"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").isString())
+                .andReturn().getResponse().getContentAsString();
+        String id = (String) mapper.readValue(accepted, Map.class).get("id");
+
+        Map<?, ?> job = Map.of();
+        for (int attempt = 0; attempt < 200; attempt++) {
+            String body = mockMvc.perform(get("/jobs/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            job = mapper.readValue(body, Map.class);
+            if ("done".equals(job.get("status"))) {
+                break;
+            }
+            Thread.sleep(25);
+        }
+
+        assertThat(job.get("status")).isEqualTo("done");
+        assertThat((List<?>) job.get("results")).hasSize(4);
+        assertThat((List<?>) job.get("jobs")).hasSize(4)
+                .allSatisfy(progress -> assertThat(((Map<?, ?>) progress).get("state")).isEqualTo("done"));
+        mockMvc.perform(delete("/jobs/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("done"));
+        mockMvc.perform(get("/jobs/no-existe"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.ok").value(false));
+    }
+
     @Test
     void solveCustomAcceptsMatrix() throws Exception {
         Map<String, Object> payload = Map.of(
@@ -60,7 +101,7 @@ class ApiTests {
                         .content(mapper.writeValueAsString(payload)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.ok").value(true))
-                .andExpect(jsonPath("$.results", Matchers.hasSize(3)))
+                .andExpect(jsonPath("$.results", Matchers.hasSize(4)))
                 .andExpect(jsonPath("$.results[0].x").isArray())
                 .andExpect(jsonPath("$.results[0].residual").isNumber())
                 .andExpect(jsonPath("$.results[0].waitingMs").isNumber())
@@ -69,6 +110,182 @@ class ApiTests {
                 .andExpect(jsonPath("$.results[0].scenario").isString());
     }
 
+    @Test
+    void raceReturnsOnlyTheFirstAcceptedResult() throws Exception {
+        mockMvc.perform(post("/solve")
+                        .param("sched", "rr")
+                        .param("scenario", "complejo")
+                        .param("race", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.results[0].residual").value(Matchers.lessThan(1e-6)));
+    }
+
+    @Test
+    void autoMethodRunsASingleSolver() throws Exception {
+        mockMvc.perform(post("/solve")
+                        .param("sched", "fcfs")
+                        .param("scenario", "medio")
+                        .param("method", "auto"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.results[0].residual").value(Matchers.lessThan(1e-6)));
+    }
+
+    @Test
+    void solveCustomAcceptsTriplets() throws Exception {
+        Map<String, Object> payload = Map.of(
+                "sched", "rr",
+                "name", "test-sparse",
+                "n", 3,
+                "triplets", new double[][]{
+                        {0, 0, 3}, {0, 1, 2}, {0, 2, -1},
+                        {1, 0, 2}, {1, 1, -2}, {1, 2, 4},
+                        {2, 0, -1}, {2, 1, 0.5}, {2, 2, -0.5}, {2, 2, -0.5}
+                },
+                "b", new double[]{1, -2, 0}
+        );
+
+        mockMvc.perform(post("/solve_custom")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(payload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.results[0].method").value("sparse-lu"))
+                .andExpect(jsonPath("$.results[0].x[0]").value(Matchers.closeTo(1.0, 1e-9)))
+                .andExpect(jsonPath("$.results[0].x[2]").value(Matchers.closeTo(-2.0, 1e-9)));
+    }
+
+    @Test
+    void repeatedCustomSolveReusesCachedFactorizations() throws Exception {
+        double[][] a = {
+                {4, -1, 0},
+                {-1, 4, -1},
+                {0, -1, 4}
+        };
+        long hitsBefore = cacheHits();
+        for (double[] b : new double[][]{{1, 2, 3}, {3, 2, 1}}) {
+            Map<String, Object> payload = Map.of("sched", "fcfs", "name", "test-cache", "a", a, "b", b);
+            mockMvc.perform(post("/solve_custom")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(payload)))
+                    .andExpect(status().isOk());
+        }
+        // la segunda resolución reutiliza para cramer y blocked-lu la misma LU
+        assertThat(cacheHits()).isGreaterThanOrEqualTo(hitsBefore + 2);
+    }
+
+    @Test
+    void cachedFactorizationsDoNotTeachTheCostModel() throws Exception {
+        double[][] a = {
+                {5, -1, 0, 0},
+                {-1, 5, -1, 0},
+                {0, -1, 5, -1},
+                {0, 0, -1, 5}
+        };
+        Map<String, Object> payload = Map.of("sched", "fcfs", "name", "test-cache-cost", "a", a, "b", new double[]{1, 2, 3, 4});
+        mockMvc.perform(post("/solve_custom")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(payload)))
+                .andExpect(status().isOk());
+        long luSamples = costModelSamples("blocked-lu");
+        long hitsBefore = cacheHits();
+
+        mockMvc.perform(post("/solve_custom")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(payload)))
+                .andExpect(status().isOk());
+
+        // la segunda LU sale de la caché: su tiempo no es el de factorizar y el modelo no lo aprende
+        assertThat(cacheHits()).isGreaterThan(hitsBefore);
+        assertThat(costModelSamples("blocked-lu")).isEqualTo(luSamples);
+    }
+
+    @Test
+    void solveMultiReturnsOneSolutionPerVector() throws Exception {
+        Map<String, Object> payload = Map.of(
+                "name", "test-multi",
+                "a", new double[][]{
+                        {3, 2, -1},
+                        {2, -2, 4},
+                        {-1, 0.5, -1}
+                },
+                "b", new double[][]{{1, -2, 0}, {2, -4, 0}, {0, 0, 0}}
+        );
+
+        mockMvc.perform(post("/solve_multi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(payload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.method").value("blocked-lu"))
+                .andExpect(jsonPath("$.results", Matchers.hasSize(3)))
+                .andExpect(jsonPath("$.results[0].x[1]").value(Matchers.closeTo(-2.0, 1e-9)))
+                .andExpect(jsonPath("$.results[1].x[1]").value(Matchers.closeTo(-4.0, 1e-9)))
+                .andExpect(jsonPath("$.results[2].residual").value(Matchers.closeTo(0.0, 1e-9)));
+    }
+
+    @Test
+    void solveBinaryReturnsBinarySolutions() throws Exception {
+        double[][] a = {
+                {3, 2, -1},
+                {2, -2, 4},
+                {-1, 0.5, -1}
+        };
+        double[] b = {1, -2, 0};
+        ByteBuffer body = ByteBuffer.allocate(24 + 8 * (9 + 3)).order(ByteOrder.LITTLE_ENDIAN);
+        body.putInt(0x314D4344).putInt(0).putInt(3).putInt(0).putInt(0).putInt(0);
+        for (double[] row : a) {
+            for (double value : row) {
+                body.putDouble(value);
+            }
+        }
+        for (double value : b) {
+            body.putDouble(value);
+        }
+
+        byte[] response = mockMvc.perform(post("/solve_binary")
+                        .param("sched", "fcfs")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(body.array()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ByteBuffer out = ByteBuffer.wrap(response).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(out.getInt(0)).isEqualTo(0x31584344);
+        assertThat(out.getInt(4)).isEqualTo(3);
+        int count = out.getInt(8);
+        assertThat(count).isEqualTo(4);
+        assertThat(response).hasSize(16 + count * (16 + 8 + 3 * 8));
+        for (int r = 0; r < count; r++) {
+            int offset = 16 + r * (16 + 8 + 3 * 8);
+            assertThat(out.getDouble(offset + 16)).isLessThan(1e-9);
+            assertThat(out.getDouble(offset + 24 + 8)).isCloseTo(-2.0, Offset.offset(1e-9));
+        }
+
+        mockMvc.perform(post("/solve_binary")
+                        .param("sched", "fcfs")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isUnprocessableEntity());
+
+        // el encabezado declara una A densa de 10⁶×10⁶: se rechaza sin leer el resto
+        ByteBuffer oversized = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+        oversized.putInt(0x314D4344).putInt(0).putInt(1_000_000).putInt(0).putInt(0).putInt(0);
+        mockMvc.perform(post("/solve_binary")
+                        .param("sched", "fcfs")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(oversized.array()))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.ok").value(false));
+    }
+
+    @Test
+    void jsonSizeLimitOnlyAppliesToMatrixUploads() throws Exception {
+        // un GET con Content-Type JSON no tiene cuerpo que acotar
+        mockMvc.perform(get("/scheduler/cost-model").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void solvePhysicalSeries() throws Exception {
         Map<String, Object> payload = Map.of(
@@ -84,9 +301,28 @@ class ApiTests {
                         .content(mapper.writeValueAsString(payload)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.ok").value(true))
-                .andExpect(jsonPath("$.results", Matchers.hasSize(3)))
+                .andExpect(jsonPath("$.results", Matchers.hasSize(4)))
                 .andExpect(jsonPath("$.results[0].x").isArray())
                 .andExpect(jsonPath("$.results[0].equations").isArray())
                 .andExpect(jsonPath("$.results[0].scenario").isString());
     }
+
+    private long costModelSamples(String method) throws Exception {
+        String body = mockMvc.perform(get("/scheduler/cost-model"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        for (JsonNode stats : mapper.readTree(body).get("methods")) {
+            if (method.equals(stats.get("method").asText())) {
+                return stats.get("samples").asLong();
+            }
+        }
+        return 0L;
+    }
+
+    private long cacheHits() throws Exception {
+        String body = mockMvc.perform(get("/cache/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(body).get("hits").asLong();
+    }
 }
@@ -1,18 +1,43 @@
 package com.example.dc;
 
+import com.example.dc.controller.AdmissionControl;
+import com.example.dc.controller.OverloadedException;
+import com.example.dc.domain.CircuitManager;
+import com.example.dc.domain.CircuitSpec;
+import com.example.dc.domain.ScenarioType;
+import com.example.dc.patterns.solver.CramerSolver;
+import com.example.dc.schedulers.CostModel;
 import com.example.dc.schedulers.FCFSScheduler;
+import com.example.dc.schedulers.GlobalScheduler;
 import com.example.dc.schedulers.IScheduler;
 import com.example.dc.schedulers.Job;
+import com.example.dc.schedulers.MlfqScheduler;
 import com.example.dc.schedulers.Result;
 import com.example.dc.schedulers.RoundRobinScheduler;
 import com.example.dc.schedulers.SJFScheduler;
+import com.example.dc.schedulers.SchedulerExecutor;
 import com.example.dc.schedulers.StepRunner;
+import com.example.dc.schedulers.WorkStealingScheduler;
+import com.example.dc.schedulers.runners.CramerStepRunner;
+import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SchedulerTests {
 
@@ -59,6 +84,304 @@ class SchedulerTests {
         assertThat(results).extracting(Result::getJobId).containsExactlyInAnyOrder("jobX", "jobY");
     }
 
+    @Test
+    void workStealingRotatesAndCompletesMixedJobs() {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(10L);
+        scheduler.submit(new Job("jobL", "jobL", MATRIX, VECTOR, new RecordingStepRunner("jobL", order, 5), 40L));
+        scheduler.submit(new Job("jobM", "jobM", MATRIX, VECTOR, new RecordingStepRunner("jobM", order, 3), 40L));
+        scheduler.submit(new Job("jobS", "jobS", MATRIX, VECTOR, new RecordingStepRunner("jobS", order, 1), 40L));
+
+        List<Result> results = scheduler.runAll();
+
+        assertThat(results).extracting(Result::getJobId).containsExactlyInAnyOrder("jobL", "jobM", "jobS");
+        assertThat(results).filteredOn(result -> result.getJobId().equals("jobL"))
+                .singleElement()
+                .satisfies(result -> assertThat(result.getSolution()).containsExactly(5.0));
+        assertThat(order).hasSize(9);
+    }
+
+    @Test
+    void mlfqLetsShortJobFinishBeforeDemotedLongJob() {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        MlfqScheduler scheduler = new MlfqScheduler();
+        scheduler.submit(new Job("long", "long", MATRIX, VECTOR, new RecordingStepRunner("long", order, 10), null));
+        scheduler.submit(new Job("short", "short", MATRIX, VECTOR, new RecordingStepRunner("short", order, 1), null));
+
+        List<Result> results = scheduler.runAll();
+
+        assertThat(results).extracting(Result::getJobId).containsExactly("short", "long");
+        assertThat(order).hasSize(11);
+        assertThat(order.indexOf("short")).isLessThan(3);
+    }
+
+    @Test
+    void cancelledJobStopsBeforeNextStepWhileOthersFinish() {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        Job cancelled = new Job("cancelled", "cancelled", MATRIX, VECTOR, new RecordingStepRunner("cancelled", order, 3), 10L);
+        Job other = new Job("other", "other", MATRIX, VECTOR, new RecordingStepRunner("other", order, 2), 10L);
+        RoundRobinScheduler scheduler = new RoundRobinScheduler(10L);
+        scheduler.submit(cancelled);
+        scheduler.submit(other);
+        cancelled.cancel();
+
+        assertThatThrownBy(scheduler::runAll)
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(CancellationException.class);
+        assertThat(order).containsExactly("other", "other");
+        assertThat(other.isFinished()).isTrue();
+        assertThat(cancelled.isFinished()).isFalse();
+    }
+
+    @Test
+    void admissionQueuesInArrivalOrderAndRejectsWhenFull() {
+        AdmissionControl admission = new AdmissionControl(4, 1_000L, 1);
+        AdmissionControl.Ticket first = admission.enqueue(3, 100L);
+        AdmissionControl.Ticket second = admission.enqueue(3, 100L);
+
+        assertThatThrownBy(() -> admission.enqueue(1, 1L))
+                .isInstanceOfSatisfying(OverloadedException.class,
+                        e -> assertThat(e.retryAfterSeconds()).isPositive());
+        assertThatThrownBy(() -> admission.await(second, 10L)).isInstanceOf(OverloadedException.class);
+
+        AdmissionControl.Ticket oversized = admission.enqueue(1, 2_000L);
+        assertThat(admission.stats().queueDepth()).isEqualTo(1);
+        admission.release(first);
+        admission.await(oversized, 0L);
+
+        AdmissionControl.Stats stats = admission.stats();
+        assertThat(stats.inFlightBytes()).isEqualTo(2_000L);
+        assertThat(stats.admitted()).isEqualTo(2);
+        assertThat(stats.rejected()).isEqualTo(2);
+        admission.release(oversized);
+        assertThat(admission.stats().inFlightJobs()).isZero();
+    }
+
+    @Test
+    void withdrawnTicketLeavesTheQueueAndWakesItsWaiter() {
+        AdmissionControl admission = new AdmissionControl(1, 1_000L, 1);
+        AdmissionControl.Ticket running = admission.enqueue(1, 100L);
+        AdmissionControl.Ticket queued = admission.enqueue(1, 100L);
+        CompletableFuture<Void> waiter =
+                CompletableFuture.runAsync(() -> admission.await(queued, AdmissionControl.NO_TIMEOUT));
+
+        admission.withdraw(queued);
+
+        assertThatThrownBy(waiter::join).hasCauseInstanceOf(CancellationException.class);
+        assertThat(admission.stats().queueDepth()).isZero();
+        // el lugar en la fila quedó libre para otra petición
+        AdmissionControl.Ticket next = admission.enqueue(1, 100L);
+        admission.release(running);
+        admission.await(next, 0L);
+        admission.release(next);
+        assertThat(admission.stats().inFlightJobs()).isZero();
+    }
+
+    @Test
+    void costModelFitsHistoryAndLearnsOnline(@TempDir Path dir) throws IOException {
+        Path log = dir.resolve("jobs_log.csv");
+        Files.writeString(log, String.join("\n",
+                "ts,job_id,method,scheduler,scenario,elapsed_ms,waiting_ms,turnaround_ms,cpu_pct,mem_mb,ctx_voluntary,ctx_involuntary,io_read_bytes,io_write_bytes,residual,n",
+                "t,1,lu,fcfs,a,1.000,0,0,0,0,0,0,0,0,0,10",
+                "t,2,lu,fcfs,b,8.000,0,0,0,0,0,0,0,0,0,20",
+                "t,3,lu,fcfs,c,64.000,0,0,0,0,0,0,0,0,0,40",
+                "t,4,lu,fcfs,c,0,000,0,0,0,0,0,0,0,0,0,40",
+                "t,5,gauss,fcfs,medio-1,4.000,0,0,0,0,0,0,0,0,0"));
+
+        CostModel model = CostModel.fromLog(log);
+
+        assertThat(model.predictMs("lu", 80)).isCloseTo(512.0, Offset.offset(1.0));
+        assertThat(model.estimate("gauss", 20, 7L)).isEqualTo(7L);
+        model.observe("gauss", 20, 4.0);
+        model.observe("gauss", 20, 4.0);
+        assertThat(model.estimate("gauss", 20, 7L)).isEqualTo(4L);
+
+        model.observe("lu", 80, 1024.0);
+        CostModel.MethodStats lu = model.stats().get(1);
+        assertThat(lu.method()).isEqualTo("lu");
+        assertThat(lu.samples()).isEqualTo(4);
+        assertThat(lu.predictions()).isEqualTo(1);
+        assertThat(lu.meanAbsErrorMs()).isCloseTo(512.0, Offset.offset(1.0));
+        assertThat(model.predictMs("lu", 80)).isBetween(512.0, 1024.0);
+    }
+
+    @Test
+    void costModelReadsLegacyLogsWithCommaDecimals(@TempDir Path dir) throws IOException {
+        // formato del jobs_log.csv versionado: cabecera vieja, coma decimal y columnas agregadas sin cabecera
+        Files.writeString(dir.resolve("jobs_log.20250101T000000000Z.csv"), String.join("\n",
+                "ts,job_id,method,elapsed_ms,cpu_pct,mem_mb",
+                "t,1,lu,5,000,100,000,31,200",
+                "t,2,lu,simple-1762889293937,2,000,0,000,32,094",
+                "t,3,lu,medio-1762889293937,16,000,0,000,32,662",
+                "t,4,lu,fcfs,complejo-1762907522458,128,000,64,727,64,727,100,000,29,734,NaN,NaN,NaN,NaN,4,161189e-14"));
+        Path log = dir.resolve("jobs_log.csv");
+        Files.writeString(log, String.join("\n",
+                "ts,job_id,scenario,method,n,elapsed_ms",
+                "t,5,a,gauss,10,1.5",
+                "t,6,b,gauss,10,1.5",
+                "t,7,c,gauss,10,1.5"));
+
+        CostModel model = CostModel.fromLog(log);
+
+        List<CostModel.MethodStats> stats = model.stats();
+        assertThat(stats).extracting(CostModel.MethodStats::method).containsExactly("gauss", "lu");
+        assertThat(stats.get(0).samples()).isEqualTo(3);
+        assertThat(stats.get(1).samples()).isEqualTo(3);
+        assertThat(model.predictMs("gauss", 10)).isCloseTo(1.5, Offset.offset(1e-9));
+        assertThat(model.predictMs("lu", 40)).isBetween(16.0, 128.0);
+    }
+
+    @Test
+    void cramerStepRunnerMatchesSolverUnderRoundRobin() {
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(ScenarioType.COMPLEJO);
+        RoundRobinScheduler scheduler = new RoundRobinScheduler(1L);
+        scheduler.submit(new Job("cramer", "cramer", spec.a(), spec.b(), new CramerStepRunner(spec.a(), spec.b()), 1L));
+
+        List<Result> results = scheduler.runAll();
+
+        double[] expected = new CramerSolver().solve(spec.a(), spec.b());
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getSolution()).containsExactly(expected, Offset.offset(1e-9));
+    }
+
+    @Test
+    void schedulersShareOnePersistentPool() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        long submittedBefore = SchedulerExecutor.stats().submittedTasks();
+        for (IScheduler scheduler : List.of(new FCFSScheduler(), new SJFScheduler(), new RoundRobinScheduler(10L))) {
+            for (int i = 0; i < 3; i++) {
+                scheduler.submit(new Job("job" + i, "job" + i, MATRIX, VECTOR, new ThreadRecordingStepRunner(threads), 10L));
+            }
+            assertThat(scheduler.runAll()).hasSize(3);
+        }
+
+        SchedulerExecutor.Stats stats = SchedulerExecutor.stats();
+        assertThat(threads).allMatch(name -> name.startsWith("dc-scheduler-"));
+        if (!stats.virtualThreads()) {
+            assertThat(threads.size()).isLessThanOrEqualTo(SchedulerExecutor.parallelism());
+        }
+        assertThat(stats.parallelism()).isEqualTo(SchedulerExecutor.parallelism());
+        assertThat(stats.submittedTasks() - submittedBefore).isGreaterThanOrEqualTo(9);
+    }
+
+    @Test
+    void sjfOrdersJobsAcrossRequests() throws Exception {
+        int slots = SchedulerExecutor.parallelism();
+        Semaphore gate = new Semaphore(0);
+        CountDownLatch running = new CountDownLatch(slots);
+        List<Job> blockers = new ArrayList<>();
+        for (int i = 0; i < slots; i++) {
+            blockers.add(new Job("blocker" + i, "blocker", MATRIX, VECTOR, new BlockingStepRunner(running, gate), 1L));
+        }
+        List<CompletableFuture<Result>> blocked = GlobalScheduler.FCFS.submitAll(blockers, 0L);
+        running.await();
+
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Result> longJob = GlobalScheduler.SJF.submitAll(List.of(
+                new Job("long", "long", MATRIX, VECTOR, new RecordingStepRunner("long", order, 1), 50L)), 0L).get(0);
+        CompletableFuture<Result> shortJob = GlobalScheduler.SJF.submitAll(List.of(
+                new Job("short", "short", MATRIX, VECTOR, new RecordingStepRunner("short", order, 1), 10L)), 0L).get(0);
+        assertThat(GlobalScheduler.SJF.queueDepth()).isEqualTo(2);
+
+        gate.release();
+        shortJob.get();
+        gate.release(slots - 1);
+        longJob.get();
+        for (CompletableFuture<Result> future : blocked) {
+            future.get();
+        }
+
+        assertThat(order).containsExactly("short", "long");
+    }
+
+    @Test
+    void edfRunsEarliestDeadlineFirstAcrossRequests() throws Exception {
+        int slots = SchedulerExecutor.parallelism();
+        Semaphore gate = new Semaphore(0);
+        CountDownLatch running = new CountDownLatch(slots);
+        List<Job> blockers = new ArrayList<>();
+        for (int i = 0; i < slots; i++) {
+            blockers.add(new Job("blocker" + i, "blocker", MATRIX, VECTOR, new BlockingStepRunner(running, gate), 1L));
+        }
+        List<CompletableFuture<Result>> blocked = GlobalScheduler.FCFS.submitAll(blockers, 0L);
+        running.await();
+
+        long now = System.nanoTime();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Result> relaxed = GlobalScheduler.EDF.submitAll(List.of(
+                new Job("relaxed", "relaxed", MATRIX, VECTOR, new RecordingStepRunner("relaxed", order, 3), 10L)),
+                10L, now + 60_000_000_000L).get(0);
+        CompletableFuture<Result> urgent = GlobalScheduler.EDF.submitAll(List.of(
+                new Job("urgent", "urgent", MATRIX, VECTOR, new RecordingStepRunner("urgent", order, 1), 50L)),
+                10L, now + 1_000_000_000L).get(0);
+        assertThat(GlobalScheduler.EDF.queueDepth()).isEqualTo(2);
+
+        gate.release();
+        urgent.get();
+        gate.release(slots - 1);
+        relaxed.get();
+        for (CompletableFuture<Result> future : blocked) {
+            future.get();
+        }
+
+        assertThat(order).containsExactly("urgent", "relaxed", "relaxed", "relaxed");
+    }
+
+    private static class BlockingStepRunner implements StepRunner {
+        private final CountDownLatch running;
+        private final Semaphore gate;
+        private boolean finished;
+
+        private BlockingStepRunner(CountDownLatch running, Semaphore gate) {
+            this.running = running;
+            this.gate = gate;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public long runNextStep() {
+            running.countDown();
+            gate.acquireUninterruptibly();
+            finished = true;
+            return 1L;
+        }
+
+        @Override
+        public double[] currentResult() {
+            return new double[]{1.0};
+        }
+    }
+
+    private static class ThreadRecordingStepRunner implements StepRunner {
+        private final Set<String> threads;
+        private boolean finished;
+
+        private ThreadRecordingStepRunner(Set<String> threads) {
+            this.threads = threads;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public long runNextStep() {
+            threads.add(Thread.currentThread().getName());
+            finished = true;
+            return 1L;
+        }
+
+        @Override
+        public double[] currentResult() {
+            return new double[]{1.0};
+        }
+    }
+
     private static class RecordingStepRunner implements StepRunner {
         private final String id;
         private final List<String> order;
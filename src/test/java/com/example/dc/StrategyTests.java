@@ -1,13 +1,39 @@
 package com.example.dc;
 
+import com.example.dc.domain.CircuitManager;
+import com.example.dc.domain.CircuitSpec;
+import com.example.dc.domain.CsrMatrix;
+import com.example.dc.domain.DenseMatrix;
+import com.example.dc.domain.OffHeapMatrix;
+import com.example.dc.domain.ScenarioType;
+import com.example.dc.patterns.factory.SolverFactory;
+import com.example.dc.patterns.solver.BlockedLuSolver;
+import com.example.dc.patterns.solver.CholeskySolver;
+import com.example.dc.patterns.solver.ConjugateGradientSolver;
 import com.example.dc.patterns.solver.CramerSolver;
+import com.example.dc.patterns.solver.FactorizationCache;
 import com.example.dc.patterns.solver.GaussJordanSolver;
+import com.example.dc.patterns.solver.Kernels;
 import com.example.dc.patterns.solver.LibrarySolver;
+import com.example.dc.patterns.solver.LuFactorization;
+import com.example.dc.patterns.solver.MixedPrecisionRefinement;
+import com.example.dc.patterns.solver.MixedPrecisionSolver;
+import com.example.dc.patterns.solver.OffHeapLuFactorization;
+import com.example.dc.patterns.solver.ParallelRows;
+import com.example.dc.patterns.solver.ScalarKernels;
+import com.example.dc.patterns.solver.SimdKernels;
 import com.example.dc.patterns.solver.Solver;
+import com.example.dc.patterns.solver.SparseLuSolver;
 import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleBiFunction;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class StrategyTests {
 
@@ -30,6 +56,34 @@ class StrategyTests {
         assertClose(solution);
     }
 
+    @Test
+    void cramerClassicSolverMatchesExpected() {
+        Solver solver = new CramerSolver(CramerSolver.Mode.CLASSIC);
+        double[] solution = solver.solve(A, B);
+        assertClose(solution);
+    }
+
+    @Test
+    void cramerModesAgreeOnGeneratedScenario() {
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(ScenarioType.MEDIO);
+        double[] classic = new CramerSolver(CramerSolver.Mode.CLASSIC).solve(spec.a(), spec.b());
+        double[] factorized = new CramerSolver(CramerSolver.Mode.FACTORIZED).solve(spec.a(), spec.b());
+        for (int i = 0; i < classic.length; i++) {
+            assertThat(factorized[i]).isCloseTo(classic[i], TOLERANCE);
+        }
+    }
+
+    @Test
+    void cramerModesRejectSingularMatrix() {
+        double[][] singular = {{1, 2}, {2, 4}};
+        double[] b = {1, 2};
+        for (CramerSolver.Mode mode : CramerSolver.Mode.values()) {
+            assertThatThrownBy(() -> new CramerSolver(mode).solve(singular, b))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Determinante demasiado pequeño");
+        }
+    }
+
     @Test
     void gaussJordanSolverMatchesExpected() {
         Solver solver = new GaussJordanSolver();
@@ -44,6 +98,327 @@ class StrategyTests {
         assertClose(solution);
     }
 
+    @Test
+    void blockedLuSolverMatchesExpected() {
+        Solver solver = new BlockedLuSolver();
+        double[] solution = solver.solve(A, B);
+        assertClose(solution);
+    }
+
+    @Test
+    void blockedLuSolverMatchesGaussJordanAcrossSeveralBlocks() {
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(ScenarioType.COMPLEJO);
+        double[] expected = new GaussJordanSolver().solve(spec.a(), spec.b());
+        double[] blocked = new BlockedLuSolver(16).solve(spec.a(), spec.b());
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(blocked[i]).isCloseTo(expected[i], TOLERANCE);
+        }
+    }
+
+    @Test
+    void conjugateGradientConvergesOnGeneratedSpdScenario() {
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(ScenarioType.COMPLEJO);
+        double[] expected = new BlockedLuSolver().solve(spec.a(), spec.b());
+        ConjugateGradientSolver.Outcome outcome = new ConjugateGradientSolver(1e-12, 1_000).solveWithStats(spec.a(), spec.b());
+        assertThat(outcome.iterations()).isPositive();
+        assertThat(outcome.relativeResidual()).isLessThanOrEqualTo(1e-12);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(outcome.solution()[i]).isCloseTo(expected[i], TOLERANCE);
+        }
+    }
+
+    @Test
+    void conjugateGradientRejectsMatrixThatIsNotPositiveDefinite() {
+        assertThatThrownBy(() -> new ConjugateGradientSolver().solve(A, B))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void choleskySolverMatchesLuOnSymmetricScenario() {
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(ScenarioType.COMPLEJO);
+        assertThat(spec.symmetric()).isTrue();
+        double[] expected = new BlockedLuSolver().solve(spec.a(), spec.b());
+        double[] solution = new CholeskySolver(spec.symmetric()).solve(spec.a(), spec.b());
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(solution[i]).isCloseTo(expected[i], TOLERANCE);
+        }
+    }
+
+    @Test
+    void choleskySolverFallsBackToLuWhenNotPositiveDefinite() {
+        double[][] indefinite = {{1, 2}, {2, 1}};
+        double[] b = {3, 3};
+        assertThat(new CholeskySolver(true).solve(indefinite, b)).containsExactly(new double[]{1, 1}, TOLERANCE);
+        assertClose(new CholeskySolver().solve(A, B));
+    }
+
+    @Test
+    void sparseLuSolverMatchesDenseLuOnGridNetlist() {
+        assertClose(new SparseLuSolver().solve(A, B));
+
+        // rejilla 12×12 de conductancias unitarias, con una conexión asimétrica y entradas repetidas
+        int side = 12;
+        int n = side * side;
+        List<double[]> triplets = new ArrayList<>();
+        for (int node = 0; node < n; node++) {
+            triplets.add(new double[]{node, node, 0.01});
+            if (node % side + 1 < side) {
+                stampConductance(triplets, node, node + 1);
+            }
+            if (node + side < n) {
+                stampConductance(triplets, node, node + side);
+            }
+        }
+        triplets.add(new double[]{0, n - 1, 0.5});
+        int[] rows = triplets.stream().mapToInt(t -> (int) t[0]).toArray();
+        int[] columns = triplets.stream().mapToInt(t -> (int) t[1]).toArray();
+        double[] values = triplets.stream().mapToDouble(t -> t[2]).toArray();
+        CsrMatrix sparse = CsrMatrix.fromTriplets(n, rows, columns, values);
+        double[] b = new Random(7).doubles(n, -1, 1).toArray();
+
+        double[] expected = new BlockedLuSolver().solve(sparse.toDense(), b);
+        double[] solution = new SparseLuSolver().solve(sparse, b);
+        for (int i = 0; i < n; i++) {
+            assertThat(solution[i]).isCloseTo(expected[i], TOLERANCE);
+        }
+    }
+
+    @Test
+    void autoSolverPicksCheapestMethodThatFitsTheStructure() {
+        SolverFactory factory = new SolverFactory();
+        // Cholesky y gradiente conjugado serían los más baratos, pero A no es simétrica
+        ToDoubleBiFunction<String, SolverFactory.MatrixProfile> costs = (method, profile) -> switch (method) {
+            case "cg" -> 1.0;
+            case "cholesky" -> 2.0;
+            case "blocked-lu" -> 5.0;
+            default -> 10.0;
+        };
+        CircuitSpec general = CircuitManager.INSTANCE.custom("auto-general", A, B);
+        assertThat(factory.auto(general, costs).name()).isEqualTo("blocked-lu");
+
+        CircuitSpec symmetric = CircuitManager.INSTANCE.generateScenario(ScenarioType.COMPLEJO);
+        SolverFactory.MatrixProfile profile = SolverFactory.MatrixProfile.of(symmetric);
+        assertThat(profile.symmetric()).isTrue();
+        assertThat(profile.dominantDiagonal()).isFalse();
+        assertThat(factory.auto(symmetric, costs).name()).isEqualTo("cholesky");
+
+        double[][] dominant = {{4, -1, 0}, {-1, 4, -1}, {0, -1, 4}};
+        CircuitSpec spd = CircuitManager.INSTANCE.custom("auto-spd", dominant, B);
+        assertThat(factory.auto(spd, costs).name()).isEqualTo("cg");
+
+        CsrMatrix sparse = CsrMatrix.fromTriplets(2, new int[]{0, 1}, new int[]{0, 1}, new double[]{2, 3});
+        CircuitSpec sparseSpec = CircuitManager.INSTANCE.custom("auto-sparse", sparse, new double[]{1, 1}, true);
+        assertThat(factory.auto(sparseSpec, costs).name()).isEqualTo("sparse-lu");
+    }
+
+    @Test
+    void sparseLuSolverRejectsSingularMatrix() {
+        CsrMatrix singular = CsrMatrix.fromTriplets(2, new int[]{0, 0, 1, 1}, new int[]{0, 1, 0, 1}, new double[]{1, 1, 1, 1});
+        assertThatThrownBy(() -> new SparseLuSolver().solve(singular, new double[]{1, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void solveManyMatchesOneSolvePerVector() {
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(ScenarioType.MEDIO);
+        double[][] a = spec.a();
+        Random random = new Random(11);
+        double[][] rhs = new double[5][];
+        for (int c = 0; c < rhs.length; c++) {
+            rhs[c] = random.doubles(a.length, -10, 10).toArray();
+        }
+        for (Solver solver : List.of(new CramerSolver(), new GaussJordanSolver(), new LibrarySolver(),
+                new BlockedLuSolver(8), new CholeskySolver(), new SparseLuSolver(), new ConjugateGradientSolver())) {
+            double[][] solutions = solver.solveMany(a, rhs);
+            assertThat(solutions).hasSize(rhs.length);
+            for (int c = 0; c < rhs.length; c++) {
+                double[] expected = new BlockedLuSolver().solve(a, rhs[c]);
+                for (int i = 0; i < expected.length; i++) {
+                    assertThat(solutions[c][i]).as(solver.name()).isCloseTo(expected[i], TOLERANCE);
+                }
+            }
+        }
+    }
+
+    @Test
+    void solversAcceptSharedDenseMatrixWithoutModifyingIt() {
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(ScenarioType.MEDIO);
+        DenseMatrix matrix = spec.matrix();
+        assertThat(spec.matrix()).isSameAs(matrix);
+        double[][] copy = spec.a();
+        copy[0][0] += 1.0;
+        assertThat(matrix.get(0, 0)).isNotEqualTo(copy[0][0]);
+
+        double[] expected = new BlockedLuSolver().solve(spec.a(), spec.b());
+        for (Solver solver : List.of(new CramerSolver(), new GaussJordanSolver(), new LibrarySolver(),
+                new BlockedLuSolver(8), new CholeskySolver(), new ConjugateGradientSolver(), new MixedPrecisionSolver())) {
+            double[] solution = solver.solve(matrix, spec.b());
+            for (int i = 0; i < expected.length; i++) {
+                assertThat(solution[i]).as(solver.name()).isCloseTo(expected[i], TOLERANCE);
+            }
+        }
+        assertThat(matrix).isEqualTo(DenseMatrix.of(spec.a()));
+        assertThat(matrix.fingerprint()).isEqualTo(spec.fingerprint());
+    }
+
+    @Test
+    void mixedPrecisionSolverRefinesToLibraryAccuracy() {
+        assertClose(new MixedPrecisionSolver().solve(A, B));
+
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(ScenarioType.COMPLEJO);
+        MixedPrecisionSolver.Outcome outcome = new MixedPrecisionSolver().solveWithStats(spec.a(), spec.b());
+        double[] expected = new LibrarySolver().solve(spec.a(), spec.b());
+        assertThat(outcome.fellBack()).isFalse();
+        assertThat(outcome.refinementSteps()).isLessThanOrEqualTo(MixedPrecisionRefinement.MAX_REFINEMENT_STEPS);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(outcome.solution()[i]).isCloseTo(expected[i], Offset.offset(1e-9));
+        }
+    }
+
+    @Test
+    void mixedPrecisionSolverFallsBackToDoubleOnIllConditionedMatrix() {
+        // Hilbert 8×8: número de condición ~1e10, fuera del alcance de una factorización en float
+        int n = 8;
+        double[][] hilbert = new double[n][n];
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                hilbert[i][j] = 1.0 / (i + j + 1);
+                b[i] += hilbert[i][j];
+            }
+        }
+        MixedPrecisionSolver.Outcome outcome = new MixedPrecisionSolver().solveWithStats(hilbert, b);
+        assertThat(outcome.fellBack()).isTrue();
+        for (double value : outcome.solution()) {
+            assertThat(value).isCloseTo(1.0, Offset.offset(1e-4));
+        }
+    }
+
+    @Test
+    void factorizationCacheEvictsLeastRecentlyUsedByMemory() {
+        FactorizationCache cache = new FactorizationCache(100);
+        DenseMatrix first = DenseMatrix.of(A);
+        DenseMatrix second = DenseMatrix.of(new double[][]{{1, 0}, {0, 1}});
+        cache.put(1L, first, "lu", "lu-1", 60);
+        assertThat(cache.get(1L, DenseMatrix.of(A), "lu", String.class)).isEqualTo("lu-1");
+        assertThat(cache.get(1L, first, "cholesky", String.class)).isNull();
+        cache.put(2L, second, "lu", "lu-2", 60);
+        assertThat(cache.get(1L, first, "lu", String.class)).isNull();
+        assertThat(cache.get(2L, second, "lu", String.class)).isEqualTo("lu-2");
+        FactorizationCache.Stats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.evictions()).isEqualTo(1);
+        assertThat(stats.usedBytes()).isEqualTo(60);
+    }
+
+    @Test
+    void factorizationCacheRejectsDifferentMatrixWithSameFingerprint() {
+        FactorizationCache cache = new FactorizationCache(1_000);
+        DenseMatrix original = DenseMatrix.of(A);
+        cache.put(7L, original, "lu", "lu-original", 60);
+        // una A distinta con la misma huella no puede tomar la factorización de otra
+        assertThat(cache.get(7L, DenseMatrix.of(new double[][]{{1, 0}, {0, 1}}), "lu", String.class)).isNull();
+        assertThat(cache.get(7L, original, "lu", String.class)).isEqualTo("lu-original");
+    }
+
+    @Test
+    void offHeapLuMatchesBlockedLuAndReleasesNativeMemory() {
+        CircuitSpec spec = CircuitManager.INSTANCE.generateScenario(ScenarioType.COMPLEJO);
+        double[] expected = new BlockedLuSolver().solve(spec.a(), spec.b());
+        long before = OffHeapMatrix.liveBytes();
+        OffHeapMatrix a = OffHeapMatrix.of(spec.a());
+        double[] solution;
+        try (OffHeapLuFactorization lu = new OffHeapLuFactorization(a)) {
+            // bloques de 16 columnas: varios paneles, intercambios de filas y actualizaciones del resto
+            lu.factorizeBlocked(16);
+            assertThat(OffHeapMatrix.liveBytes() - before).isEqualTo(2 * a.byteSize());
+            solution = lu.solve(spec.b());
+        }
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(solution[i]).isCloseTo(expected[i], TOLERANCE);
+        }
+        assertThat(a.get(3, 7)).isEqualTo(spec.matrix().get(3, 7));
+        a.close();
+        assertThat(a.isOpen()).isFalse();
+        assertThat(OffHeapMatrix.liveBytes()).isEqualTo(before);
+    }
+
+    @Test
+    void cachedLuFactorizationSolvesNewRightHandSides() {
+        CircuitSpec first = CircuitManager.INSTANCE.custom("first", A, B);
+        CircuitSpec second = CircuitManager.INSTANCE.custom("second", A, new double[]{2, -4, 0});
+        assertThat(second.fingerprint()).isEqualTo(first.fingerprint());
+        LuFactorization lu = LuFactorization.factor(first.a());
+        assertClose(lu.solve(B));
+        double[] doubled = lu.solve(second.b());
+        for (int i = 0; i < EXPECTED.length; i++) {
+            assertThat(doubled[i]).isCloseTo(2 * EXPECTED[i], TOLERANCE);
+        }
+    }
+
+    @Test
+    void parallelRowsCoversWholeRangeExactlyOnce() {
+        int[] visits = new int[10_000];
+        ParallelRows.forRange(0, visits.length, 65_536, (from, to) -> {
+            for (int row = from; row < to; row++) {
+                visits[row]++;
+            }
+        });
+        assertThat(visits).containsOnly(1);
+    }
+
+    @Test
+    void simdKernelsMatchScalarKernelsWithinTolerance() {
+        Kernels scalar = new ScalarKernels();
+        Kernels simd = new SimdKernels();
+        Random random = new Random(42);
+        for (int length : new int[]{0, 1, 3, 7, 64, 131}) {
+            double[] x = random.doubles(length + 2, -5, 5).toArray();
+            double[] y = random.doubles(length + 2, -5, 5).toArray();
+            double magnitude = 0.0;
+            for (int i = 0; i < length; i++) {
+                magnitude += Math.abs(x[i + 1] * y[i + 2]);
+            }
+            assertThat(simd.dot(x, 1, y, 2, length))
+                    .isCloseTo(scalar.dot(x, 1, y, 2, length), Offset.offset(Kernels.DOT_RELATIVE_TOLERANCE * magnitude + Double.MIN_VALUE));
+
+            double[] scalarY = y.clone();
+            double[] simdY = y.clone();
+            scalar.axpy(-0.75, x, 1, scalarY, 2, length);
+            simd.axpy(-0.75, x, 1, simdY, 2, length);
+            assertThat(simdY).containsExactly(scalarY);
+
+            double[] scalarX = x.clone();
+            double[] simdX = x.clone();
+            scalar.scale(1.0 / 3.0, scalarX, 1, length);
+            simd.scale(1.0 / 3.0, simdX, 1, length);
+            assertThat(simdX).containsExactly(scalarX);
+
+            scalar.divide(3.0, scalarX, 1, length);
+            simd.divide(3.0, simdX, 1, length);
+            assertThat(simdX).containsExactly(scalarX);
+
+            float[] xf = new float[length + 2];
+            float[] scalarYf = new float[length + 2];
+            for (int i = 0; i < xf.length; i++) {
+                xf[i] = (float) x[i];
+                scalarYf[i] = (float) y[i];
+            }
+            float[] simdYf = scalarYf.clone();
+            scalar.axpy(-0.75f, xf, 1, scalarYf, 2, length);
+            simd.axpy(-0.75f, xf, 1, simdYf, 2, length);
+            assertThat(simdYf).containsExactly(scalarYf);
+        }
+    }
+
+    private static void stampConductance(List<double[]> triplets, int i, int j) {
+        triplets.add(new double[]{i, i, 1});
+        triplets.add(new double[]{j, j, 1});
+        triplets.add(new double[]{i, j, -1});
+        triplets.add(new double[]{j, i, -1});
+    }
+
     private void assertClose(double[] solution) {
         assertThat(solution).hasSize(EXPECTED.length);
         for (int i = 0; i < EXPECTED.length; i++) {
@@ -29,7 +29,10 @@ export function Controls({
     () => [
       { value: 'fcfs', label: 'FCFS' },
       { value: 'rr', label: 'Round Robin' },
-      { value: 'sjf', label: 'SJF' }
+      { value: 'sjf', label: 'SJF' },
+      { value: 'ws', label: 'Work Stealing' },
+      { value: 'mlfq', label: 'MLFQ' },
+      { value: 'edf', label: 'EDF' }
     ],
     []
   )
@@ -15,7 +15,10 @@ const defaultVector = `[1,2,3]`
 const schedulers = [
   { value: 'fcfs', label: 'FCFS' },
   { value: 'rr', label: 'Round Robin' },
-  { value: 'sjf', label: 'SJF' }
+  { value: 'sjf', label: 'SJF' },
+  { value: 'ws', label: 'Work Stealing' },
+  { value: 'mlfq', label: 'MLFQ' },
+  { value: 'edf', label: 'EDF' }
 ]
 
 export function CustomSolve({ open, onClose, onSuccess }: CustomSolveProps) {
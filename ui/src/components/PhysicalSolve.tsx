@@ -6,7 +6,10 @@ import { useI18n, translateTopology } from '../i18n'
 const schedulers = [
   { value: 'fcfs', label: 'FCFS' },
   { value: 'rr', label: 'Round Robin' },
-  { value: 'sjf', label: 'SJF' }
+  { value: 'sjf', label: 'SJF' },
+  { value: 'ws', label: 'Work Stealing' },
+  { value: 'mlfq', label: 'MLFQ' },
+  { value: 'edf', label: 'EDF' }
 ]
 
 const topologies = [